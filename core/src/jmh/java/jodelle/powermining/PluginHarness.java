@@ -0,0 +1,91 @@
+/*
+ * Enables the plugin on top of the in-memory server of the benchmarks, once per JVM
+ */
+
+package jodelle.powermining;
+
+import jodelle.powermining.benchmarks.FakeServer;
+import jodelle.powermining.lib.PluginConfig;
+import jodelle.powermining.lib.Reference;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+public final class PluginHarness {
+    private static PowerMining plugin;
+
+    private PluginHarness() {
+    }
+
+    /**
+     * Enables the plugin with the default config file
+     * @return The enabled plugin
+     */
+    @Nonnull
+    public static synchronized PowerMining enable() {
+        if (plugin != null) {
+            return plugin;
+        }
+
+        final Server server = FakeServer.install();
+        final File dataFolder;
+        try {
+            dataFolder = Files.createTempDirectory("JodellePowerMining").toFile();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        dataFolder.deleteOnExit();
+
+        final PluginDescriptionFile description = new PluginDescriptionFile("JodellePowerMining", "benchmark", PowerMining.class.getName());
+        plugin = new PowerMining(new JavaPluginLoader(server), description, dataFolder, new File(dataFolder, "JodellePowerMining.jar"));
+        plugin.onEnable();
+        return plugin;
+    }
+
+    /**
+     * Changes one setting of the config file and publishes the new snapshot, like a reload would
+     * @param path Path of the setting, ex: Radius
+     * @param value New value
+     */
+    public static void configure(@Nonnull final String path, @Nonnull final Object value) {
+        final PowerMining plugin = enable();
+        plugin.getConfig().set(path, value);
+        plugin.applyConfig(PluginConfig.load(plugin, plugin.getConfig()));
+    }
+
+    /**
+     * Creates a PowerTool the same way it's tagged when crafted
+     * @param name Name of the PowerTool, ex: DIAMOND_HAMMER
+     * @param baseMaterial Vanilla tool the PowerTool is made of
+     * @return The PowerTool
+     */
+    @Nonnull
+    public static ItemStack powerTool(@Nonnull final String name, @Nonnull final Material baseMaterial) {
+        final ItemStack item = new ItemStack(baseMaterial);
+        final ItemMeta itemMeta = item.getItemMeta();
+        itemMeta.getPersistentDataContainer().set(Reference.POWER_TOOL_KEY, PersistentDataType.STRING, name);
+        item.setItemMeta(itemMeta);
+        return item;
+    }
+
+    /**
+     * Repairs the tool, so the durability benchmarks never break it
+     * @param item Tool to be repaired
+     */
+    public static void repair(@Nonnull final ItemStack item) {
+        final ItemMeta itemMeta = item.getItemMeta();
+        ((Damageable) itemMeta).setDamage(0);
+        item.setItemMeta(itemMeta);
+    }
+}
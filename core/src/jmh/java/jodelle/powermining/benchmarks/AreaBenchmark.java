@@ -0,0 +1,74 @@
+/*
+ * Cost of working out the blocks around the broken block, for every face, radius and depth
+ */
+
+package jodelle.powermining.benchmarks;
+
+import jodelle.powermining.PluginHarness;
+import jodelle.powermining.lib.AreaShape;
+import jodelle.powermining.lib.PowerUtils;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AreaBenchmark {
+    @Param({"UP", "NORTH", "EAST"})
+    public BlockFace face;
+
+    @Param({"1", "2", "4"})
+    public int radius;
+
+    @Param({"0", "1", "3"})
+    public int depth;
+
+    private FakeWorld world;
+    private Block center;
+
+    @Setup
+    public void setup() {
+        PluginHarness.enable();
+        world = new FakeWorld();
+        world.fill(Material.STONE, -8, 56, -8, 8, 72, 8);
+        center = world.getBlockAt(0, 64, 0);
+    }
+
+    @Benchmark
+    public ArrayList<Block> surroundingBlocks() {
+        return PowerUtils.getSurroundingBlocks(face, center, radius, depth);
+    }
+
+    @Benchmark
+    public long[] packedShape() {
+        return AreaShape.box(face, radius, depth).pack(0, 64, 0);
+    }
+
+    @Benchmark
+    public void visitMatchingTypes(final Blackhole blackhole) {
+        AreaShape.box(face, radius, depth).forEach(0, 64, 0, (x, y, z) -> {
+            if (PowerUtils.validateHammer(Material.DIAMOND_PICKAXE, world.getType(x, y, z))) {
+                blackhole.consume(x);
+            }
+        });
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Cost of a whole Hammer swing: the BlockBreakEvent handled by BlockBreakListener, then every queued
+ * block applied by the BreakScheduler. The world is frozen, so every swing breaks the same area again.
+ */
+
+package jodelle.powermining.benchmarks;
+
+import jodelle.powermining.PluginHarness;
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.listeners.BlockBreakListener;
+import jodelle.powermining.scheduler.BreakScheduler;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BlockBreakBenchmark {
+    // Kept below the planner's async threshold, so the whole swing is done on the benchmark thread
+    @Param({"1", "2", "3"})
+    public int radius;
+
+    @Param({"0", "1"})
+    public int depth;
+
+    private BlockBreakListener listener;
+    private BreakScheduler scheduler;
+    private Player player;
+    private ItemStack powerTool;
+    private Block center;
+    private int swings = 0;
+
+    @Setup
+    public void setup() {
+        final PowerMining plugin = PluginHarness.enable();
+        PluginHarness.configure("Radius", radius);
+        PluginHarness.configure("Deep", depth);
+
+        final FakeWorld world = new FakeWorld();
+        world.fill(Material.STONE, -8, 56, -8, 8, 64, 8);
+        world.setFrozen(true);
+        center = world.getBlockAt(0, 64, 0);
+
+        final FakePlayer fakePlayer = new FakePlayer(world.getWorld());
+        fakePlayer.standOn(0, 64, 0);
+        powerTool = PluginHarness.powerTool("DIAMOND_HAMMER", Material.DIAMOND_PICKAXE);
+        fakePlayer.setMainHand(powerTool);
+        player = fakePlayer.getPlayer();
+
+        listener = plugin.getBlockBreakHandler().getListener();
+        scheduler = plugin.getBreakScheduler();
+    }
+
+    @Benchmark
+    public int swing() {
+        listener.onBlockBreak(new BlockBreakEvent(center, player));
+
+        int ticks = 0;
+        while (scheduler.getQueuedBlocks() > 0) {
+            scheduler.run();
+            ticks++;
+        }
+
+        // Repairs the tool well before it could break, the cost is spread over a thousand swings
+        if (++swings >= 1000) {
+            swings = 0;
+            PluginHarness.repair(powerTool);
+        }
+        return ticks;
+    }
+}
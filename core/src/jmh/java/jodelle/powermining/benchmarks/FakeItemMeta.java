@@ -0,0 +1,177 @@
+/*
+ * In-memory ItemMeta for every ItemStack of the benchmarks. It keeps the damage, the enchantments and the
+ * PersistentDataContainer like the real one, clones on every getItemMeta and compares by value.
+ */
+
+package jodelle.powermining.benchmarks;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+final class FakeItemMeta implements InvocationHandler {
+    private final HashMap<String, Object> properties;
+    private final LinkedHashMap<Enchantment, Integer> enchants;
+    private final HashMap<NamespacedKey, Object> data;
+    private final PersistentDataContainer container;
+    private int damage;
+    private boolean unbreakable;
+
+    private FakeItemMeta(@Nullable final FakeItemMeta other) {
+        properties = other == null ? new HashMap<>() : new HashMap<>(other.properties);
+        enchants = other == null ? new LinkedHashMap<>() : new LinkedHashMap<>(other.enchants);
+        data = other == null ? new HashMap<>() : new HashMap<>(other.data);
+        damage = other == null ? 0 : other.damage;
+        unbreakable = other != null && other.unbreakable;
+        container = Fakes.proxy(PersistentDataContainer.class, this::invokeContainer);
+    }
+
+    @Nonnull
+    static ItemMeta create() {
+        return new FakeItemMeta(null).toMeta();
+    }
+
+    /**
+     * @return ItemFactory handing out and comparing FakeItemMetas
+     */
+    @Nonnull
+    static ItemFactory factory() {
+        return Fakes.proxy(ItemFactory.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getItemMeta":
+                    return create();
+                case "isApplicable":
+                    return true;
+                case "asMetaFor":
+                    return args[0];
+                case "updateMaterial":
+                    return args[1];
+                case "equals":
+                    if (args.length != 2) {
+                        return proxy == args[0];
+                    }
+                    return sameMeta((ItemMeta) args[0], (ItemMeta) args[1]);
+                default:
+                    return Fakes.defaults(proxy, method, args);
+            }
+        });
+    }
+
+    @Nonnull
+    private ItemMeta toMeta() {
+        return Fakes.proxy(Damageable.class, this);
+    }
+
+    private static boolean sameMeta(@Nullable final ItemMeta first, @Nullable final ItemMeta second) {
+        final FakeItemMeta a = first == null ? null : (FakeItemMeta) Proxy.getInvocationHandler(first);
+        final FakeItemMeta b = second == null ? null : (FakeItemMeta) Proxy.getInvocationHandler(second);
+        if (a == null || b == null) {
+            // Like the real factory, an empty meta is the same as no meta
+            return (a == null || a.isEmpty()) && (b == null || b.isEmpty());
+        }
+        return a.sameState(b);
+    }
+
+    private boolean isEmpty() {
+        return properties.isEmpty() && enchants.isEmpty() && data.isEmpty() && damage == 0 && !unbreakable;
+    }
+
+    private boolean sameState(@Nonnull final FakeItemMeta other) {
+        return damage == other.damage && unbreakable == other.unbreakable && properties.equals(other.properties)
+                && enchants.equals(other.enchants) && data.equals(other.data);
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+        final String name = method.getName();
+        switch (name) {
+            case "clone":
+                return new FakeItemMeta(this).toMeta();
+            case "equals":
+                return args[0] instanceof ItemMeta && Proxy.isProxyClass(args[0].getClass())
+                        && Proxy.getInvocationHandler(args[0]) instanceof FakeItemMeta
+                        && sameState((FakeItemMeta) Proxy.getInvocationHandler(args[0]));
+            case "hashCode":
+                return Objects.hash(properties, enchants, data, damage, unbreakable);
+            case "getDamage":
+                return damage;
+            case "setDamage":
+                damage = (Integer) args[0];
+                return null;
+            case "hasDamage":
+                return damage > 0;
+            case "isUnbreakable":
+                return unbreakable;
+            case "setUnbreakable":
+                unbreakable = (Boolean) args[0];
+                return null;
+            case "hasEnchants":
+                return !enchants.isEmpty();
+            case "getEnchants":
+                return Collections.unmodifiableMap(new LinkedHashMap<>(enchants));
+            case "hasEnchant":
+                return enchants.containsKey((Enchantment) args[0]);
+            case "getEnchantLevel":
+                return enchants.getOrDefault((Enchantment) args[0], 0);
+            case "addEnchant":
+                return !Objects.equals(enchants.put((Enchantment) args[0], (Integer) args[1]), args[1]);
+            case "removeEnchant":
+                return enchants.remove((Enchantment) args[0]) != null;
+            case "getPersistentDataContainer":
+                return container;
+            default:
+                break;
+        }
+
+        // Display name, lore, custom model data and the like are kept as plain properties
+        if (name.startsWith("set") && args != null && args.length == 1) {
+            properties.put(name.substring(3), args[0]);
+            return null;
+        }
+        if (name.startsWith("has") && (args == null || args.length == 0)) {
+            return properties.containsKey(name.substring(3));
+        }
+        if (name.startsWith("get") && (args == null || args.length == 0) && properties.containsKey(name.substring(3))) {
+            return properties.get(name.substring(3));
+        }
+        return Fakes.defaults(proxy, method, args);
+    }
+
+    @Nullable
+    private Object invokeContainer(final Object proxy, final Method method, final Object[] args) {
+        switch (method.getName()) {
+            case "has":
+                return data.containsKey((NamespacedKey) args[0]);
+            case "get":
+                return data.get((NamespacedKey) args[0]);
+            case "getOrDefault":
+                return data.getOrDefault((NamespacedKey) args[0], args[2]);
+            case "set":
+                data.put((NamespacedKey) args[0], args[2]);
+                return null;
+            case "remove":
+                data.remove((NamespacedKey) args[0]);
+                return null;
+            case "isEmpty":
+                return data.isEmpty();
+            case "getKeys":
+                return new HashSet<>(data.keySet());
+            default:
+                return Fakes.defaults(proxy, method, args);
+        }
+    }
+}
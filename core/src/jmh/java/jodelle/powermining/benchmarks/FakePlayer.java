@@ -0,0 +1,87 @@
+/*
+ * In-memory survival Player standing on top of a block, holding one item and allowed to do everything
+ */
+
+package jodelle.powermining.benchmarks;
+
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.UUID;
+
+public final class FakePlayer {
+    private final UUID uid = UUID.randomUUID();
+    private final World world;
+    private final Player player;
+    private final PlayerInventory inventory;
+    private Location eye;
+    private ItemStack mainHand = new ItemStack(Material.AIR);
+
+    public FakePlayer(@Nonnull final World world) {
+        this.world = world;
+        this.eye = new Location(world, 0.5, 2.62, 0.5);
+
+        inventory = Fakes.proxy(PlayerInventory.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getItemInMainHand":
+                    return mainHand;
+                case "setItemInMainHand":
+                    mainHand = args[0] == null ? new ItemStack(Material.AIR) : (ItemStack) args[0];
+                    return null;
+                case "removeItem":
+                case "addItem":
+                    return new HashMap<Integer, ItemStack>();
+                default:
+                    return Fakes.defaults(proxy, method, args);
+            }
+        });
+
+        player = Fakes.proxy(Player.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                case "getDisplayName":
+                    return "BenchmarkPlayer";
+                case "getUniqueId":
+                    return uid;
+                case "getWorld":
+                    return world;
+                case "getInventory":
+                    return inventory;
+                case "getGameMode":
+                    return GameMode.SURVIVAL;
+                case "isOnline":
+                case "hasPermission":
+                    return true;
+                case "getEyeLocation":
+                    return eye.clone();
+                case "getLocation":
+                    return eye.clone().add(0, -1.62, 0);
+                default:
+                    return Fakes.defaults(proxy, method, args);
+            }
+        });
+    }
+
+    @Nonnull
+    public Player getPlayer() {
+        return player;
+    }
+
+    public void setMainHand(@Nonnull final ItemStack item) {
+        mainHand = item;
+    }
+
+    /**
+     * Places the player's eye above the center of the block, so breaks are done from the UP face
+     */
+    public void standOn(final int x, final int y, final int z) {
+        eye = new Location(world, x + 0.5, y + 2.62, z + 0.5);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * In-memory Server installed into Bukkit before the plugin is created. It has no players or worlds of
+ * its own, schedules nothing and accepts every listener and recipe without doing anything with them.
+ */
+
+package jodelle.powermining.benchmarks;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import javax.annotation.Nonnull;
+import java.util.logging.Logger;
+
+public final class FakeServer {
+    private FakeServer() {
+    }
+
+    /**
+     * Installs the server into Bukkit, once per JVM
+     * @return The installed server
+     */
+    @Nonnull
+    public static synchronized Server install() {
+        if (Bukkit.getServer() != null) {
+            return Bukkit.getServer();
+        }
+
+        final Logger logger = Logger.getLogger("FakeServer");
+        final ItemFactory itemFactory = FakeItemMeta.factory();
+        final PluginManager pluginManager = Fakes.empty(PluginManager.class);
+        final ConsoleCommandSender console = Fakes.empty(ConsoleCommandSender.class);
+
+        // Tasks are never run, the benchmarks drive the BreakScheduler themselves
+        final BukkitTask task = Fakes.proxy(BukkitTask.class, (proxy, method, args) ->
+                method.getName().equals("getTaskId") ? 1 : Fakes.defaults(proxy, method, args));
+        final BukkitScheduler scheduler = Fakes.proxy(BukkitScheduler.class, (proxy, method, args) ->
+                method.getReturnType() == BukkitTask.class ? task : Fakes.defaults(proxy, method, args));
+
+        final Server server = Fakes.proxy(Server.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getLogger":
+                    return logger;
+                case "getName":
+                    return "FakeServer";
+                case "getVersion":
+                case "getBukkitVersion":
+                    return "1.17-R0.1-SNAPSHOT";
+                case "getItemFactory":
+                    return itemFactory;
+                case "getPluginManager":
+                    return pluginManager;
+                case "getScheduler":
+                    return scheduler;
+                case "getConsoleSender":
+                    return console;
+                case "isPrimaryThread":
+                    return true;
+                default:
+                    return Fakes.defaults(proxy, method, args);
+            }
+        });
+
+        Bukkit.setServer(server);
+        return server;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * In-memory World keeping one Material per position, with every chunk loaded. Ray traces always miss, so the
+ * break face is worked out from the player's eye position. A frozen world ignores every change, which lets the
+ * same swing be repeated without refilling the area.
+ */
+
+package jodelle.powermining.benchmarks;
+
+import jodelle.powermining.lib.PackedPos;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.UUID;
+
+public final class FakeWorld implements InvocationHandler {
+    private final HashMap<Long, Material> blocks = new HashMap<>();
+    private final UUID uid = UUID.randomUUID();
+    private final World world;
+    private boolean frozen = false;
+
+    public FakeWorld() {
+        world = Fakes.proxy(World.class, this);
+    }
+
+    @Nonnull
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * @param frozen True to ignore every change to the blocks
+     */
+    public void setFrozen(final boolean frozen) {
+        this.frozen = frozen;
+    }
+
+    /**
+     * Fills the box between both corners with the material
+     */
+    public void fill(@Nonnull final Material material, final int minX, final int minY, final int minZ,
+                     final int maxX, final int maxY, final int maxZ) {
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    blocks.put(PackedPos.pack(x, y, z), material);
+                }
+            }
+        }
+    }
+
+    @Nonnull
+    public Material getType(final int x, final int y, final int z) {
+        return blocks.getOrDefault(PackedPos.pack(x, y, z), Material.AIR);
+    }
+
+    public void setType(final int x, final int y, final int z, @Nonnull final Material material) {
+        if (!frozen) {
+            blocks.put(PackedPos.pack(x, y, z), material);
+        }
+    }
+
+    @Nonnull
+    public Block getBlockAt(final int x, final int y, final int z) {
+        return Fakes.proxy(Block.class, new FakeBlock(x, y, z));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+        switch (method.getName()) {
+            case "getType":
+                if (args.length == 3) {
+                    return getType((Integer) args[0], (Integer) args[1], (Integer) args[2]);
+                }
+                break;
+            case "getBlockAt":
+                if (args.length == 3) {
+                    return getBlockAt((Integer) args[0], (Integer) args[1], (Integer) args[2]);
+                }
+                final Location location = (Location) args[0];
+                return getBlockAt(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+            case "isChunkLoaded":
+                return true;
+            case "getMinHeight":
+                return -64;
+            case "getMaxHeight":
+                return 320;
+            case "getName":
+                return "world";
+            case "getUID":
+                return uid;
+            default:
+                break;
+        }
+        return Fakes.defaults(proxy, method, args);
+    }
+
+    private final class FakeBlock implements InvocationHandler {
+        private final int x;
+        private final int y;
+        private final int z;
+
+        private FakeBlock(final int x, final int y, final int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            switch (method.getName()) {
+                case "getX":
+                    return x;
+                case "getY":
+                    return y;
+                case "getZ":
+                    return z;
+                case "getWorld":
+                    return world;
+                case "getType":
+                    return FakeWorld.this.getType(x, y, z);
+                case "setType":
+                    setType(x, y, z, (Material) args[0]);
+                    return null;
+                case "getLocation":
+                    return new Location(world, x, y, z);
+                case "isPreferredTool":
+                    return true;
+                case "breakNaturally":
+                    setType(x, y, z, Material.AIR);
+                    return true;
+                case "getDrops":
+                    return Collections.singletonList(new ItemStack(FakeWorld.this.getType(x, y, z)));
+                case "isEmpty":
+                    return FakeWorld.this.getType(x, y, z) == Material.AIR;
+                case "equals":
+                    if (!(args[0] instanceof Block) || !Proxy.isProxyClass(args[0].getClass())) {
+                        return false;
+                    }
+                    final Object other = Proxy.getInvocationHandler(args[0]);
+                    return other instanceof FakeBlock && ((FakeBlock) other).x == x && ((FakeBlock) other).y == y
+                            && ((FakeBlock) other).z == z;
+                case "hashCode":
+                    return Long.hashCode(PackedPos.pack(x, y, z));
+                default:
+                    return Fakes.defaults(proxy, method, args);
+            }
+        }
+    }
+}
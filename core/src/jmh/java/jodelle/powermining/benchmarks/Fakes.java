@@ -0,0 +1,76 @@
+/*
+ * Small helpers to build in-memory stand-ins of the Bukkit interfaces. Only the methods the plugin
+ * actually calls are answered, everything else returns the default value of its return type.
+ */
+
+package jodelle.powermining.benchmarks;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+final class Fakes {
+    private Fakes() {
+    }
+
+    @Nonnull
+    static <T> T proxy(@Nonnull final Class<T> type, @Nonnull final InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(Fakes.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Stand-in that answers every call with a default value
+     */
+    @Nonnull
+    static <T> T empty(@Nonnull final Class<T> type) {
+        return proxy(type, Fakes::defaults);
+    }
+
+    /**
+     * Answers the Object methods by identity and everything else with the default value of the return type
+     */
+    @Nullable
+    static Object defaults(@Nonnull final Object proxy, @Nonnull final Method method, @Nullable final Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return args != null && args.length == 1 && proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return method.getDeclaringClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+            default:
+                return defaultValue(method.getReturnType());
+        }
+    }
+
+    @Nullable
+    static Object defaultValue(@Nonnull final Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == float.class) {
+            return 0F;
+        }
+        if (type == double.class) {
+            return 0D;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+}
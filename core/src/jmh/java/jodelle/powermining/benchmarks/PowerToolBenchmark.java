@@ -0,0 +1,91 @@
+/*
+ * Cost of recognizing a PowerTool and of reducing its durability, with and without Unbreaking
+ */
+
+package jodelle.powermining.benchmarks;
+
+import jodelle.powermining.PluginHarness;
+import jodelle.powermining.lib.PowerUtils;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PowerToolBenchmark {
+    // Blocks of a 3x3x3 swing, the durability is reduced by this many uses at once
+    private static final int AREA_USES = 27;
+
+    @Param({"0", "3"})
+    public int unbreaking;
+
+    private Player player;
+    private ItemStack powerTool;
+    private ItemStack plainTool;
+    private int uses = 0;
+
+    @Setup
+    public void setup() {
+        PluginHarness.enable();
+        final FakePlayer fakePlayer = new FakePlayer(new FakeWorld().getWorld());
+        player = fakePlayer.getPlayer();
+
+        powerTool = PluginHarness.powerTool("NETHERITE_HAMMER", Material.NETHERITE_PICKAXE);
+        if (unbreaking > 0) {
+            powerTool.addUnsafeEnchantment(Enchantment.DURABILITY, unbreaking);
+        }
+        plainTool = new ItemStack(Material.NETHERITE_PICKAXE);
+        fakePlayer.setMainHand(powerTool);
+    }
+
+    @Benchmark
+    public boolean isPowerTool() {
+        return PowerUtils.isPowerTool(powerTool);
+    }
+
+    @Benchmark
+    public boolean isPowerToolPlainItem() {
+        return PowerUtils.isPowerTool(plainTool);
+    }
+
+    @Benchmark
+    public void reduceDurability() {
+        PowerUtils.reduceDurability(player, powerTool);
+        repairBeforeBreaking(1);
+    }
+
+    @Benchmark
+    public void reduceDurabilityArea() {
+        PowerUtils.reduceDurability(player, powerTool, AREA_USES);
+        repairBeforeBreaking(AREA_USES);
+    }
+
+    /**
+     * Repairs the tool well before it could break, the cost is spread over a thousand calls
+     */
+    private void repairBeforeBreaking(final int used) {
+        uses += used;
+        if (uses >= 1000) {
+            uses = 0;
+            PluginHarness.repair(powerTool);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Cost of checking which blocks a PowerTool may break, over a mix of matching and non matching blocks
+ */
+
+package jodelle.powermining.benchmarks;
+
+import jodelle.powermining.PluginHarness;
+import jodelle.powermining.lib.PowerUtils;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RuleBenchmark {
+    private static final Material[] BLOCKS = {
+            Material.STONE, Material.DIRT, Material.OBSIDIAN, Material.GRAVEL, Material.DIAMOND_ORE,
+            Material.OAK_LOG, Material.SAND, Material.NETHERRACK, Material.GRASS_BLOCK, Material.AIR
+    };
+
+    @Setup
+    public void setup() {
+        PluginHarness.enable();
+    }
+
+    @Benchmark
+    public int validateHammer() {
+        int matches = 0;
+        for (Material block : BLOCKS) {
+            if (PowerUtils.validateHammer(Material.IRON_PICKAXE, block)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int validateExcavator() {
+        int matches = 0;
+        for (Material block : BLOCKS) {
+            if (PowerUtils.validateExcavator(Material.IRON_SHOVEL, block)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
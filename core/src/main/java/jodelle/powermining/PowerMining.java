@@ -0,0 +1,492 @@
+/*
+ * This piece of software is part of the PowerMining Bukkit Plugin
+ * Author: BloodyShade (dev.bukkit.org/profiles/bloodyshade)
+ *
+ * Licensed under the LGPL v3
+ * Further information please refer to the included lgpl-3.0.txt or the gnu website (http://www.gnu.org/licenses/lgpl)
+ */
+
+/*
+ * Main Plugin class, responsible for initializing the plugin and it's respective systems, also keeps a reference to the handlers
+ */
+
+package jodelle.powermining;
+
+import jodelle.powermining.handlers.*;
+import jodelle.powermining.journal.EditJournal;
+import jodelle.powermining.journal.EditRecord;
+import jodelle.powermining.lib.ConfigWatcher;
+import jodelle.powermining.lib.DebuggingMessages;
+import jodelle.powermining.lib.PermissionCache;
+import jodelle.powermining.lib.PluginConfig;
+import jodelle.powermining.lib.PowerToolCache;
+import jodelle.powermining.lib.PowerToolType;
+import jodelle.powermining.lib.Reference;
+import jodelle.powermining.metrics.Metrics;
+import jodelle.powermining.metrics.PrometheusExporter;
+import jodelle.powermining.protection.ProtectionCache;
+import jodelle.powermining.protection.ProtectionChain;
+import jodelle.powermining.scheduler.AreaPlanner;
+import jodelle.powermining.platform.Platform;
+import jodelle.powermining.platform.Platforms;
+import jodelle.powermining.scheduler.BreakScheduler;
+import jodelle.powermining.scheduler.ChunkTickets;
+import jodelle.powermining.scheduler.DurabilityLedger;
+import org.bukkit.ChatColor;
+import org.bukkit.NamespacedKey;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.permissions.Permission;
+import org.bukkit.permissions.PermissionDefault;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+public final class PowerMining extends JavaPlugin {
+    public JavaPlugin plugin;
+    private BlockBreakHandler handlerBlockBreak;
+    private CraftItemHandler handlerCraftItem;
+    private EnchantItemHandler handlerEnchantItem;
+    private InventoryClickHandler handlerInventoryClick;
+    private ClickPlayerHandler handlerClickPlayer;
+    private CommandHandler commandHandler;
+    private DebuggingMessages debuggingMessages;
+    private Platform platform;
+    private BreakScheduler breakScheduler;
+    private DurabilityLedger durabilityLedger;
+    private ChunkTickets chunkTickets;
+    private AreaPlanner areaPlanner;
+    private PowerToolCache powerToolCache;
+    private PermissionCache permissionCache;
+    private Metrics metrics;
+    private PrometheusExporter prometheusExporter;
+    private ConfigWatcher configWatcher;
+    private volatile PluginConfig pluginConfig;
+    private PlayerSessionHandler handlerPlayerSession;
+
+    private ProtectionChain protectionChain;
+    private ProtectionCache protectionCache;
+    private EditJournal editJournal;
+
+    private static PowerMining instance;
+
+    public PowerMining() {
+        super();
+    }
+
+    /**
+     * Creates the plugin outside of a server, used by the benchmarks
+     */
+    PowerMining(@Nonnull final JavaPluginLoader loader, @Nonnull final PluginDescriptionFile description,
+                @Nonnull final File dataFolder, @Nonnull final File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    @Override
+    public void onEnable() {
+
+        instance = this;
+
+        debuggingMessages = new DebuggingMessages(getLogger());
+        metrics = new Metrics();
+
+        platform = Platforms.select(getLogger());
+        getLogger().info("Using the " + platform.getName() + " platform adapter.");
+
+        Reference.POWER_TOOL_KEY = new NamespacedKey(this, "isPowerTool");
+        powerToolCache = new PowerToolCache();
+
+        this.saveDefaultConfig();
+        processConfig();
+        startDebugLog();
+        processPermissions();
+        permissionCache = new PermissionCache(pluginConfig.getPermissionCacheSeconds());
+        getLogger().info("Finished processing config file.");
+        loadDependencies();
+
+        breakScheduler = new BreakScheduler(this);
+        breakScheduler.start();
+        durabilityLedger = new DurabilityLedger();
+        chunkTickets = new ChunkTickets(this);
+        areaPlanner = new AreaPlanner(this);
+
+        startExporter();
+        startConfigWatcher();
+        startJournal();
+
+        handlerBlockBreak = new BlockBreakHandler();
+        handlerCraftItem = new CraftItemHandler();
+        handlerEnchantItem = new EnchantItemHandler();
+        handlerInventoryClick = new InventoryClickHandler();
+        handlerClickPlayer = new ClickPlayerHandler();
+        commandHandler = new CommandHandler();
+        handlerPlayerSession = new PlayerSessionHandler();
+
+        handlerBlockBreak.Init(this);
+        handlerCraftItem.Init(this);
+        handlerEnchantItem.Init(this);
+        handlerInventoryClick.Init(this);
+        handlerClickPlayer.Init(this);
+        commandHandler.Init(this);
+        handlerPlayerSession.Init(this);
+
+
+        getLogger().info("JodellePowerMining plugin was enabled.");
+
+
+    }
+
+    /**
+     * Loads the dependencies that the plugin might require to properly function
+     */
+    private void loadDependencies() {
+        debuggingMessages.log(DebuggingMessages.Category.GENERAL, () -> "Loading dependencies...");
+
+        protectionChain = ProtectionChain.load(this);
+        protectionCache = new ProtectionCache(protectionChain, pluginConfig.getProtectionCacheSeconds(), pluginConfig.getProtectionCacheSections());
+        protectionChain.watchChanges(this, protectionCache::clear);
+    }
+
+    /**
+     * Gives each PowerTool its craft, use and enchant permissions.
+     */
+    private void processPermissions() {
+
+        debuggingMessages.log(DebuggingMessages.Category.GENERAL, () -> "Setting up Permissions");
+        // WOODEN_HAMMER -> powermining.craft.hammer.wooden
+        // The Permission objects registered from the plugin.yml are reused, so checking them doesn't need to look them up by name
+        for (PowerToolType powerTool : PowerToolType.values()) {
+            for (PermissionCache.Action action : PermissionCache.Action.values()) {
+                powerTool.setPermission(action, getPermission(powerTool.getPermissionName(action)));
+            }
+            debuggingMessages.log(DebuggingMessages.Category.GENERAL, () -> "PowerTool: " + powerTool.name() + " - Permission " + powerTool.getPermissionName(PermissionCache.Action.USE));
+        }
+
+    }
+
+    /**
+     * Gets a registered permission, registering it if it isn't declared in the plugin.yml
+     * @param name Name of the permission
+     * @return The permission
+     */
+    @Nonnull
+    private Permission getPermission(@Nonnull final String name) {
+        Permission permission = getServer().getPluginManager().getPermission(name);
+        if (permission == null) {
+            permission = new Permission(name, PermissionDefault.FALSE);
+            getServer().getPluginManager().addPermission(permission);
+        }
+        return permission;
+    }
+
+    @Override
+    public void onDisable() {
+        if (configWatcher != null) {
+            configWatcher.stop();
+        }
+
+        if (areaPlanner != null) {
+            areaPlanner.shutdown();
+        }
+
+        // Finish the swings that are still queued, the players already paid the durability for them.
+        // The rollbacks still queued are cut short instead, see RestoreJob
+        if (breakScheduler != null) {
+            breakScheduler.drain();
+        }
+
+        // After the drain, so the swings it finished are journaled too
+        if (editJournal != null) {
+            editJournal.stop();
+        }
+
+        if (debuggingMessages != null) {
+            debuggingMessages.stop();
+        }
+        getLogger().info("PowerMining plugin was disabled.");
+    }
+
+    /**
+     * Reads the config file and publishes it as the current snapshot
+     */
+    public void processConfig() {
+        applyConfig(PluginConfig.load(this, getConfig()));
+    }
+
+    /**
+     * Reads the config file again without blocking the main thread. The file is read and processed by an async
+     * task and the new snapshot is swapped in on the main thread. If the file is broken the current one is kept.
+     * @param sender Receives the outcome of the reload, null when nobody asked for it
+     */
+    public void reloadPluginConfig(@Nullable final CommandSender sender) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        final File configFile = new File(getDataFolder(), "config.yml");
+        getServer().getScheduler().runTaskAsynchronously(this, () -> {
+            PluginConfig loaded = null;
+            String problem = null;
+            try {
+                final YamlConfiguration yaml = new YamlConfiguration();
+                yaml.load(configFile);
+                final InputStream defaults = getResource("config.yml");
+                if (defaults != null) {
+                    yaml.setDefaults(YamlConfiguration.loadConfiguration(new InputStreamReader(defaults, StandardCharsets.UTF_8)));
+                }
+                loaded = PluginConfig.load(this, yaml);
+            } catch (IOException | InvalidConfigurationException | RuntimeException e) {
+                problem = e.getMessage();
+                getLogger().info("Couldn't reload the config file, keeping the current one: " + problem);
+            }
+
+            final PluginConfig config = loaded;
+            final String message = problem;
+            if (!isEnabled()) {
+                return;
+            }
+            getServer().getScheduler().runTask(this, () -> {
+                if (config == null) {
+                    if (sender != null) {
+                        sender.sendMessage(ChatColor.RED + "[JodellePowerMining] - Couldn't reload the config file: " + message);
+                    }
+                    return;
+                }
+
+                applyConfig(config);
+                getLogger().info("Config file reloaded.");
+                if (sender != null) {
+                    sender.sendMessage(ChatColor.GREEN + "[JodellePowerMining] - Config file reloaded");
+                }
+            });
+        });
+    }
+
+    /**
+     * Publishes a new snapshot and updates the systems that keep state derived from it. Must run on the main thread.
+     * @param config The new snapshot
+     */
+    void applyConfig(@Nonnull final PluginConfig config) {
+        final PluginConfig previous = pluginConfig;
+        pluginConfig = config;
+
+        if (previous == null) {
+            return;
+        }
+
+        permissionCache.setExpireSeconds(config.getPermissionCacheSeconds());
+        permissionCache.clear();
+        protectionCache.configure(config.getProtectionCacheSeconds(), config.getProtectionCacheSections());
+        areaPlanner.resize(config.getPlannerThreads());
+
+        if (previous.isMetricsExport() != config.isMetricsExport()
+                || !previous.getMetricsFile().equals(config.getMetricsFile())
+                || previous.getMetricsExportSeconds() != config.getMetricsExportSeconds()) {
+            startExporter();
+        }
+        if (previous.isWatchConfig() != config.isWatchConfig()) {
+            startConfigWatcher();
+        }
+        if (!previous.getDebugCategories().equals(config.getDebugCategories()) || !previous.getDebugFile().equals(config.getDebugFile())) {
+            startDebugLog();
+        }
+        if (previous.isJournal() != config.isJournal() || !previous.getJournalFile().equals(config.getJournalFile())
+                || previous.getJournalMaxSizeMB() != config.getJournalMaxSizeMB()) {
+            startJournal();
+        }
+        if (!previous.sameRecipes(config)) {
+            handlerCraftItem.reloadRecipes(this);
+        }
+    }
+
+    /**
+     * Starts writing the metrics to a file if the config asks for it, stopping the previous exporter
+     */
+    private void startExporter() {
+        if (prometheusExporter != null) {
+            prometheusExporter.cancel();
+            prometheusExporter = null;
+        }
+
+        if (!pluginConfig.isMetricsExport()) {
+            return;
+        }
+
+        final Path metricsFile = getDataFolder().toPath().resolve(pluginConfig.getMetricsFile());
+        prometheusExporter = new PrometheusExporter(this, metrics, metricsFile);
+        prometheusExporter.start(pluginConfig.getMetricsExportSeconds());
+        getLogger().info("Writing metrics to " + metricsFile);
+    }
+
+    /**
+     * Starts watching the config file if the config asks for it, stopping the previous watcher
+     */
+    private void startConfigWatcher() {
+        if (configWatcher != null) {
+            configWatcher.stop();
+            configWatcher = null;
+        }
+
+        if (!pluginConfig.isWatchConfig()) {
+            return;
+        }
+
+        final ConfigWatcher watcher = new ConfigWatcher(this, new File(getDataFolder(), "config.yml").toPath());
+        try {
+            watcher.start();
+            configWatcher = watcher;
+        } catch (IOException e) {
+            getLogger().info("Couldn't watch the config file, it will only be reloaded with /jpm reload: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens the journal if the config asks for it, closing the previous one
+     */
+    private void startJournal() {
+        if (editJournal != null) {
+            editJournal.stop();
+            editJournal = null;
+        }
+
+        if (!pluginConfig.isJournal()) {
+            return;
+        }
+
+        final Path journalFile = getDataFolder().toPath().resolve(pluginConfig.getJournalFile());
+        final EditJournal journal = new EditJournal(journalFile, pluginConfig.getJournalMaxSizeMB() * 1024L * 1024L, getLogger());
+        try {
+            journal.start();
+            editJournal = journal;
+        } catch (IOException e) {
+            getLogger().info("Couldn't open the journal, PowerTool swings won't be recorded: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the debugging messages of the categories the config turns on, closing the log if there are none
+     */
+    private void startDebugLog() {
+        final Path debugFile = getDataFolder().toPath().resolve(pluginConfig.getDebugFile());
+        debuggingMessages.configure(pluginConfig.getDebugCategories(), debugFile);
+        if (!pluginConfig.getDebugCategories().isEmpty()) {
+            getLogger().info("Writing debugging messages to " + debugFile);
+        }
+    }
+
+    /**
+     * Writes a finished swing to the journal, if it's still open
+     * @param record Finished swing
+     */
+    public void journal(@Nonnull final EditRecord record) {
+        if (editJournal == null) {
+            return;
+        }
+
+        if (editJournal.append(record)) {
+            metrics.journalRecords.inc();
+        } else {
+            metrics.journalDropped.inc();
+        }
+    }
+
+    /**
+     * @return The journal, null if it's disabled
+     */
+    @Nullable
+    public EditJournal getEditJournal() {
+        return editJournal;
+    }
+
+    public BlockBreakHandler getBlockBreakHandler() {
+        return handlerBlockBreak;
+    }
+
+    public ClickPlayerHandler getHandlerClickPlayer() {
+        return handlerClickPlayer;
+    }
+
+    public CraftItemHandler getCraftItemHandler() {
+        return handlerCraftItem;
+    }
+
+    public EnchantItemHandler getEnchantItemHandler() {
+        return handlerEnchantItem;
+    }
+
+    public InventoryClickHandler getInventoryClickHandler() {
+        return handlerInventoryClick;
+    }
+
+    public ProtectionChain getProtectionChain() {
+        return protectionChain;
+    }
+
+    public ProtectionCache getProtectionCache() {
+        return protectionCache;
+    }
+
+    public PlayerSessionHandler getPlayerSessionHandler() {
+        return handlerPlayerSession;
+    }
+
+    public PermissionCache getPermissionCache() {
+        return permissionCache;
+    }
+
+    /**
+     * @return The current config snapshot, safe to read from any thread
+     */
+    public PluginConfig getPluginConfig() {
+        return pluginConfig;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public PowerToolCache getPowerToolCache() {
+        return powerToolCache;
+    }
+
+    public AreaPlanner getAreaPlanner() {
+        return areaPlanner;
+    }
+
+    public BreakScheduler getBreakScheduler() {
+        return breakScheduler;
+    }
+
+    public DurabilityLedger getDurabilityLedger() {
+        return durabilityLedger;
+    }
+
+    public ChunkTickets getChunkTickets() {
+        return chunkTickets;
+    }
+
+    public DebuggingMessages getDebuggingMessages() {
+        return debuggingMessages;
+    }
+
+    /**
+     * @return Adapter of the server the plugin runs on, picked when the plugin is enabled
+     */
+    public Platform getPlatform() {
+        return platform;
+    }
+
+    public static PowerMining getInstance() {
+        return instance;
+    }
+}
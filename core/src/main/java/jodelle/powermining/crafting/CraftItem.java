@@ -2,14 +2,15 @@ package jodelle.powermining.crafting;
 
 
 import jodelle.powermining.PowerMining;
+import jodelle.powermining.lib.CompiledRecipe;
 import jodelle.powermining.lib.DebuggingMessages;
-import org.bukkit.ChatColor;
-import org.bukkit.NamespacedKey;
+import jodelle.powermining.lib.PowerToolType;
+import jodelle.powermining.lib.Reference;
+import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.ShapedRecipe;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.plugin.java.JavaPlugin;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
@@ -17,13 +18,31 @@ import java.util.ArrayList;
 public class CraftItem {
 
     private final DebuggingMessages debuggingMessages;
-    protected final JavaPlugin plugin;
+    protected final PowerMining plugin;
 
     public CraftItem(@Nonnull final PowerMining plugin) {
         this.plugin = plugin;
         debuggingMessages = plugin.getDebuggingMessages();
     }
 
+    /**
+     * Creates the item of each PowerTool of the kind that has a recipe in the config file, and registers its recipe
+     * @param kind Kind of PowerTool
+     * @param loreString Lore String
+     */
+    protected void registerRecipes(@Nonnull final PowerToolType.Kind kind, @Nonnull final String loreString) {
+        for (PowerToolType powerToolType : PowerToolType.ofKind(kind)) {
+            final CompiledRecipe recipe = plugin.getPluginConfig().getRecipe(powerToolType);
+            if (recipe == null) {
+                continue;
+            }
+
+            final ItemStack powerTool = new ItemStack(powerToolType.getBaseMaterial(), 1);
+            modifyItemMeta(powerTool, loreString, powerToolType.name());
+            registerRecipes(createRecipe(powerTool, recipe));
+        }
+    }
+
     /**
      * Modifies the PowerTool meta
      * @param powerTool Item to be modified
@@ -33,9 +52,8 @@ public class CraftItem {
     protected void modifyItemMeta(@Nonnull final ItemStack powerTool, @Nonnull final String loreString, @Nonnull final String name){
         final ItemMeta powerToolMeta = powerTool.getItemMeta();
 
-        final NamespacedKey isPowerTool = new NamespacedKey(PowerMining.getInstance(), "isPowerTool");
         assert powerToolMeta != null;
-        powerToolMeta.getPersistentDataContainer().set(isPowerTool, PersistentDataType.STRING, name);
+        powerToolMeta.getPersistentDataContainer().set(Reference.POWER_TOOL_KEY, PersistentDataType.STRING, name);
 
         final ArrayList<String> lore = new ArrayList<>();
         lore.add(loreString);
@@ -48,11 +66,10 @@ public class CraftItem {
 
     }
 
-    protected ShapedRecipe createRecipe(@Nonnull final ItemStack powerTool, @Nonnull final String name, @Nonnull final ItemStack[] recipe){
+    protected ShapedRecipe createRecipe(@Nonnull final ItemStack powerTool, @Nonnull final CompiledRecipe recipe){
 
-        //Initialize the recipe
-        final ShapedRecipe toolRecipe = new ShapedRecipe(new NamespacedKey(plugin, name),powerTool);
-        //console.sendMessage(ChatColor.AQUA + "NameSpacedKey:" + name);
+        //Initialize the recipe, with the key the crafting listener finds it by
+        final ShapedRecipe toolRecipe = new ShapedRecipe(recipe.getKey(), powerTool);
         final char[] alphabet = new char[]{
                 'a','b','c','d','e','f','g','h','i'
         };
@@ -60,8 +77,9 @@ public class CraftItem {
 
         toolRecipe.shape("abc", "def", "ghi");
         for (int i = 0; i < 9; i++) {
-            if (recipe[i] != null) {
-                toolRecipe.setIngredient(alphabet[i], recipe[i].getType());
+            final Material material = recipe.getMaterial(i);
+            if (material != null) {
+                toolRecipe.setIngredient(alphabet[i], material);
             }
         }
 
@@ -71,7 +89,7 @@ public class CraftItem {
 
     protected void registerRecipes(@Nonnull final ShapedRecipe recipe) {
 
-        debuggingMessages.sendConsoleMessage(ChatColor.AQUA + "Adding Recipe:" + recipe.getKey().getKey());
+        debuggingMessages.log(DebuggingMessages.Category.CRAFT, () -> "Adding Recipe: " + recipe.getKey().getKey());
         plugin.getServer().addRecipe(recipe);
     }
 
@@ -0,0 +1,28 @@
+/*
+ * This piece of software is part of the PowerMining Bukkit Plugin
+ * Author: BloodyShade (dev.bukkit.org/profiles/bloodyshade)
+ *
+ * Licensed under the LGPL v3
+ * Further information please refer to the included lgpl-3.0.txt or the gnu website (http://www.gnu.org/licenses/lgpl)
+ */
+
+/*
+ * This class is responsible for creating the Excavator items and their respective crafting recipes
+ */
+
+package jodelle.powermining.crafting;
+
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.lib.PowerToolType;
+
+import javax.annotation.Nonnull;
+
+public class CraftItemExcavator extends CraftItem {
+
+	public static final String loreString = "POUND!";
+
+	public CraftItemExcavator(@Nonnull PowerMining plugin) {
+		super(plugin);
+		registerRecipes(PowerToolType.Kind.EXCAVATOR, loreString);
+	}
+}
@@ -0,0 +1,35 @@
+/*
+ * This piece of software is part of the PowerMining Bukkit Plugin
+ * Author: BloodyShade (dev.bukkit.org/profiles/bloodyshade)
+ *
+ * Licensed under the LGPL v3
+ * Further information please refer to the included lgpl-3.0.txt or the gnu website (http://www.gnu.org/licenses/lgpl)
+ */
+
+/*
+ * This class is responsible for creating the Hammer items and their respective crafting recipes
+ */
+
+package jodelle.powermining.crafting;
+
+
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.lib.PowerToolType;
+
+import javax.annotation.Nonnull;
+
+public class CraftItemHammer extends CraftItem{
+
+	public static final String loreString = "SMASH!";
+
+	public CraftItemHammer(@Nonnull PowerMining plugin) {
+		super(plugin);
+		registerRecipes(PowerToolType.Kind.HAMMER, loreString);
+	}
+
+
+
+
+
+
+}
@@ -0,0 +1,17 @@
+package jodelle.powermining.crafting;
+
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.lib.PowerToolType;
+
+import javax.annotation.Nonnull;
+
+public class CraftItemPlow extends CraftItem {
+
+    public static final String loreString = "PLOW!";
+
+    public CraftItemPlow(@Nonnull final PowerMining plugin) {
+        super(plugin);
+        registerRecipes(PowerToolType.Kind.PLOW, loreString);
+    }
+
+}
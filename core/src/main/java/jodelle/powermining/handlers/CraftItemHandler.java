@@ -17,7 +17,9 @@ import jodelle.powermining.PowerMining;
 import jodelle.powermining.crafting.CraftItemExcavator;
 import jodelle.powermining.crafting.CraftItemHammer;
 import jodelle.powermining.crafting.CraftItemPlow;
+import jodelle.powermining.lib.PowerToolType;
 import jodelle.powermining.listeners.CraftItemListener;
+import org.bukkit.NamespacedKey;
 
 import javax.annotation.Nonnull;
 
@@ -35,6 +37,20 @@ public class CraftItemHandler {
 		listener = new CraftItemListener(plugin);
 	}
 
+	/**
+	 * Registers the recipes again after they changed in the config file
+	 * @param plugin Instance of the plugin
+	 */
+	public void reloadRecipes(@Nonnull PowerMining plugin) {
+		for (PowerToolType powerTool : PowerToolType.values()) {
+			plugin.getServer().removeRecipe(new NamespacedKey(plugin, powerTool.name()));
+		}
+
+		HammerClass = new CraftItemHammer(plugin);
+		ExcavatorClass = new CraftItemExcavator(plugin);
+		HoeClass = new CraftItemPlow(plugin);
+	}
+
 	@Nonnull
 	public CraftItemListener getListener() {
 		return listener;
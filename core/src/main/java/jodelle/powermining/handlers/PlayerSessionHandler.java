@@ -0,0 +1,21 @@
+package jodelle.powermining.handlers;
+
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.listeners.PlayerSessionListener;
+
+import javax.annotation.Nonnull;
+
+public class PlayerSessionHandler {
+
+    public PlayerSessionHandler() {}
+    public PlayerSessionListener listener;
+
+    public void Init(@Nonnull PowerMining plugin) {
+        listener = new PlayerSessionListener(plugin);
+    }
+
+    @Nonnull
+    public PlayerSessionListener getListener() {
+        return listener;
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Append-only file holding an EditRecord for every PowerTool swing. The main thread only hands the records
+ * over, they are encoded and written in batches by a background thread. Each record carries its length at both
+ * ends, so /jpm rollback can read the newest records first and stop as soon as it reaches older ones. Once the
+ * file reaches its maximum size it's moved aside, replacing the one moved aside before, and a new file is started.
+ */
+
+package jodelle.powermining.journal;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+public class EditJournal implements Runnable {
+    // "JPMJ" followed by the version of the format
+    private static final int MAGIC = 0x4A504D4A;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int QUEUE_SIZE = 1024;
+
+    private final Path file;
+    // Older records, from before the file reached its maximum size
+    private final Path previousFile;
+    private final long maxSize;
+    private final Logger logger;
+    private final ArrayBlockingQueue<EditRecord> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    // End of the last record that was completely written, -1 until the file was checked
+    private volatile long committedSize = -1;
+    private volatile boolean running = false;
+    // Held while the file is moved aside, so a reader never mixes up the files
+    private final Object rotationLock = new Object();
+    private FileChannel channel;
+    private Thread thread;
+    private boolean warnedFull = false;
+
+    /**
+     * @param file Journal file, created if it doesn't exist
+     * @param maxSize Size in bytes the file is moved aside at, 0 to let it grow
+     * @param logger Receives the problems found while writing
+     */
+    public EditJournal(@Nonnull final Path file, final long maxSize, @Nonnull final Logger logger) {
+        this.file = file;
+        this.previousFile = file.resolveSibling(file.getFileName() + ".old");
+        this.maxSize = maxSize;
+        this.logger = logger;
+    }
+
+    /**
+     * Opens the file and starts the writer thread
+     * @throws IOException If the file can't be opened
+     */
+    public void start() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        running = true;
+
+        thread = new Thread(this, "JodellePowerMining-Journal");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Writes the records still waiting and closes the file
+     */
+    public void stop() {
+        running = false;
+        // When the queue is full the writer is busy and sees running right after its batch
+        queue.offer(EditRecord.WAKE_UP);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Hands a record over to the writer thread
+     * @param record Finished record
+     * @return False if the writer is too far behind and the record was left out
+     */
+    public boolean append(@Nonnull final EditRecord record) {
+        if (queue.offer(record)) {
+            warnedFull = false;
+            return true;
+        }
+
+        if (!warnedFull) {
+            logger.info("The journal can't keep up with the PowerTools, some swings are left out of it.");
+            warnedFull = true;
+        }
+        return false;
+    }
+
+    @Override
+    public void run() {
+        try {
+            committedSize = recover();
+            channel.position(committedSize);
+
+            final ArrayList<EditRecord> batch = new ArrayList<>();
+            while (running || !queue.isEmpty()) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                batch.removeIf(record -> record == EditRecord.WAKE_UP);
+                if (!batch.isEmpty()) {
+                    write(batch);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            logger.info("Couldn't write the journal, PowerTool swings are no longer recorded: " + e.getMessage());
+        } catch (InterruptedException e) {
+            // Stopped by the plugin
+        } finally {
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException ignored) {
+                // Nothing left to do, the records that made it are already in the file
+            }
+        }
+    }
+
+    /**
+     * Writes the records with a single gathering write
+     * @param batch Records to be written
+     */
+    private void write(@Nonnull final List<EditRecord> batch) throws IOException {
+        final ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+        long length = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = batch.get(i).encode();
+            length += buffers[i].remaining();
+        }
+
+        if (maxSize > 0 && committedSize > HEADER_SIZE && committedSize + length > maxSize) {
+            rotate();
+        }
+
+        long written = 0;
+        while (written < length) {
+            written += channel.write(buffers);
+        }
+        committedSize += length;
+    }
+
+    /**
+     * Moves the file aside, replacing the previous one, and starts a new file
+     */
+    private void rotate() throws IOException {
+        channel.force(false);
+        synchronized (rotationLock) {
+            channel.close();
+            Files.move(file, previousFile, StandardCopyOption.REPLACE_EXISTING);
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            committedSize = recover();
+            channel.position(committedSize);
+        }
+    }
+
+    /**
+     * Checks the file, writing the header of a new file and cutting the last record off if the server stopped
+     * halfway through writing it
+     * @return End of the last complete record
+     */
+    private long recover() throws IOException {
+        final long fileSize = channel.size();
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+        if (fileSize < HEADER_SIZE) {
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            channel.truncate(0);
+            channel.write(header, 0);
+            return HEADER_SIZE;
+        }
+
+        if (!hasHeader(channel)) {
+            throw new IOException(file + " isn't a journal written by this version of the plugin");
+        }
+
+        final long position = validEnd(channel, fileSize);
+        if (position < fileSize) {
+            logger.info("Dropping " + (fileSize - position) + " bytes of an incomplete record at the end of the journal.");
+            channel.truncate(position);
+        }
+        return position;
+    }
+
+    /**
+     * Reads the journal from the newest record to the oldest, going on with the file moved aside if needed
+     * @param since Oldest time wanted, in milliseconds since the epoch
+     * @param filter Records to be returned
+     * @return The matching records, newest first
+     * @throws IOException If the file can't be read
+     */
+    @Nonnull
+    public List<EditRecord> readBack(final long since, @Nonnull final Predicate<EditRecord> filter) throws IOException {
+        final long end;
+        final FileChannel current;
+        FileChannel previous = null;
+        synchronized (rotationLock) {
+            end = committedSize;
+            if (end < 0) {
+                throw new IOException("The journal is still being opened");
+            }
+
+            current = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                if (Files.exists(previousFile)) {
+                    previous = FileChannel.open(previousFile, StandardOpenOption.READ);
+                }
+            } catch (IOException e) {
+                current.close();
+                throw e;
+            }
+        }
+
+        final ArrayList<EditRecord> records = new ArrayList<>();
+        try (FileChannel currentReader = current; FileChannel previousReader = previous) {
+            // The file moved aside is checked like a journal being opened, it may have been damaged since
+            if (readBack(currentReader, end, since, filter, records) && previousReader != null && hasHeader(previousReader)) {
+                readBack(previousReader, validEnd(previousReader, previousReader.size()), since, filter, records);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Reads one file from the newest record to the oldest. Stops at the first damaged record, the records
+     * before it can't be told apart anymore.
+     * @param reader Channel of the file
+     * @param end End of the last complete record
+     * @param since Oldest time wanted, in milliseconds since the epoch
+     * @param filter Records to be returned
+     * @param records Receives the matching records, newest first
+     * @return True if every record of the file was read and newer than since
+     */
+    private static boolean readBack(@Nonnull final FileChannel reader, final long end, final long since,
+                                    @Nonnull final Predicate<EditRecord> filter, @Nonnull final List<EditRecord> records) throws IOException {
+        final ByteBuffer length = ByteBuffer.allocate(4);
+        long position = end;
+
+        while (position > HEADER_SIZE) {
+            // Same checks as when the journal is opened, the length at the start of the record has to match
+            final int size = readInt(reader, length, position - 4);
+            final long start = position - 8 - size;
+            if (size < 0 || start < HEADER_SIZE || readInt(reader, length, start) != size) {
+                return false;
+            }
+
+            final ByteBuffer content = ByteBuffer.allocate(size);
+            readFully(reader, content, start + 4);
+
+            final EditRecord record;
+            try {
+                // Records are appended in order, everything before this one is older
+                if (EditRecord.peekTime(content) < since) {
+                    return false;
+                }
+                record = EditRecord.decode(content);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+                return false;
+            }
+
+            if (filter.test(record)) {
+                records.add(record);
+            }
+            position = start;
+        }
+        return true;
+    }
+
+    /**
+     * @param reader Channel of the file
+     * @return True if the file starts with the header of this version of the journal
+     */
+    private static boolean hasHeader(@Nonnull final FileChannel reader) throws IOException {
+        if (reader.size() < HEADER_SIZE) {
+            return false;
+        }
+
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(reader, header, 0);
+        return header.getInt() == MAGIC && header.getInt() == VERSION;
+    }
+
+    /**
+     * Walks the records from the start of the file, only the lengths are read, the records themselves are skipped
+     * @param reader Channel of the file
+     * @param fileSize Size of the file
+     * @return End of the last complete record
+     */
+    private static long validEnd(@Nonnull final FileChannel reader, final long fileSize) throws IOException {
+        final ByteBuffer length = ByteBuffer.allocate(4);
+        long position = HEADER_SIZE;
+        while (position + 8 <= fileSize) {
+            final int start = readInt(reader, length, position);
+            if (start < 0 || position + 8 + start > fileSize || readInt(reader, length, position + 4 + start) != start) {
+                break;
+            }
+            position += 8 + start;
+        }
+        return position;
+    }
+
+    private static int readInt(@Nonnull final FileChannel reader, @Nonnull final ByteBuffer buffer, final long position) throws IOException {
+        buffer.clear();
+        readFully(reader, buffer, position);
+        return buffer.getInt();
+    }
+
+    private static void readFully(@Nonnull final FileChannel channel, @Nonnull final ByteBuffer buffer, final long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new IOException("Unexpected end of the journal");
+            }
+            offset += read;
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * One PowerTool swing as written to the EditJournal: who swung which tool where, and the block that was at each
+ * broken position before it was broken. Positions are stored as small deltas from the previous one, and the
+ * previous blocks as indexes into a palette holding each distinct block once.
+ */
+
+package jodelle.powermining.journal;
+
+import jodelle.powermining.lib.PackedPos;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+public final class EditRecord {
+    // Handed to the writer thread of the EditJournal to wake it up when the journal is stopped, never written
+    static final EditRecord WAKE_UP = new EditRecord(0L, new UUID(0L, 0L), "", new UUID(0L, 0L), "", BlockFace.SELF,
+            0, 0, 0, new ArrayList<>(), new long[0], new int[0]);
+
+    private final long time;
+    private final UUID playerId;
+    private final String playerName;
+    private final UUID worldId;
+    private final String tool;
+    private final BlockFace face;
+    private final int centerX;
+    private final int centerY;
+    private final int centerZ;
+
+    private final ArrayList<String> palette;
+    private long[] positions;
+    private int[] paletteIds;
+    private int size = 0;
+    // Only used while the swing is recorded
+    private HashMap<BlockData, Integer> paletteIndex;
+
+    private EditRecord(final long time, @Nonnull final UUID playerId, @Nonnull final String playerName, @Nonnull final UUID worldId,
+                       @Nonnull final String tool, @Nonnull final BlockFace face, final int centerX, final int centerY, final int centerZ,
+                       @Nonnull final ArrayList<String> palette, @Nonnull final long[] positions, @Nonnull final int[] paletteIds) {
+        this.time = time;
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.worldId = worldId;
+        this.tool = tool;
+        this.face = face;
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.centerZ = centerZ;
+        this.palette = palette;
+        this.positions = positions;
+        this.paletteIds = paletteIds;
+    }
+
+    /**
+     * Starts recording a swing
+     * @param player Player who swung the tool
+     * @param tool Name of the PowerTool
+     * @param face Face of the center block that was hit
+     * @param center Block broken by the player
+     * @return The record, blocks are added to it as they are broken
+     */
+    @Nonnull
+    public static EditRecord start(@Nonnull final Player player, @Nonnull final String tool, @Nonnull final BlockFace face, @Nonnull final Block center) {
+        final World world = center.getWorld();
+        final EditRecord record = new EditRecord(System.currentTimeMillis(), player.getUniqueId(), player.getName(), world.getUID(),
+                tool, face, center.getX(), center.getY(), center.getZ(), new ArrayList<>(), new long[16], new int[16]);
+        record.paletteIndex = new HashMap<>();
+        return record;
+    }
+
+    /**
+     * Keeps the block as it is right now, must be called before the block is changed
+     * @param block Block about to be broken
+     */
+    public void add(@Nonnull final Block block) {
+        final BlockData data = block.getBlockData();
+        Integer id = paletteIndex.get(data);
+        if (id == null) {
+            id = palette.size();
+            palette.add(data.getAsString());
+            paletteIndex.put(data, id);
+        }
+
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+            paletteIds = Arrays.copyOf(paletteIds, size * 2);
+        }
+        positions[size] = PackedPos.pack(block);
+        paletteIds[size] = id;
+        size++;
+    }
+
+    /**
+     * Writes the record, framed by its length on both ends so the journal can be read from either direction
+     * @return Buffer ready to be written
+     */
+    @Nonnull
+    ByteBuffer encode() {
+        final byte[] toolBytes = tool.getBytes(StandardCharsets.UTF_8);
+        final byte[] nameBytes = playerName.getBytes(StandardCharsets.UTF_8);
+        final byte[][] paletteBytes = new byte[palette.size()][];
+        int capacity = 4 + 8 + 16 + 16 + 5 + nameBytes.length + 5 + toolBytes.length + 1 + 12 + 5 + 5 + size * 20 + 4;
+        for (int i = 0; i < paletteBytes.length; i++) {
+            paletteBytes[i] = palette.get(i).getBytes(StandardCharsets.UTF_8);
+            capacity += 5 + paletteBytes[i].length;
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        buffer.putInt(0);
+        buffer.putLong(time);
+        buffer.putLong(playerId.getMostSignificantBits());
+        buffer.putLong(playerId.getLeastSignificantBits());
+        buffer.putLong(worldId.getMostSignificantBits());
+        buffer.putLong(worldId.getLeastSignificantBits());
+        putBytes(buffer, nameBytes);
+        putBytes(buffer, toolBytes);
+        buffer.put((byte) face.ordinal());
+        buffer.putInt(centerX);
+        buffer.putInt(centerY);
+        buffer.putInt(centerZ);
+
+        putVarInt(buffer, paletteBytes.length);
+        for (byte[] entry : paletteBytes) {
+            putBytes(buffer, entry);
+        }
+
+        // Blocks of a swing are next to each other, so the deltas almost always fit in a single byte
+        putVarInt(buffer, size);
+        int x = centerX, y = centerY, z = centerZ;
+        for (int i = 0; i < size; i++) {
+            final long pos = positions[i];
+            putVarInt(buffer, zigZag(PackedPos.x(pos) - x));
+            putVarInt(buffer, zigZag(PackedPos.y(pos) - y));
+            putVarInt(buffer, zigZag(PackedPos.z(pos) - z));
+            putVarInt(buffer, paletteIds[i]);
+            x = PackedPos.x(pos);
+            y = PackedPos.y(pos);
+            z = PackedPos.z(pos);
+        }
+
+        final int length = buffer.position() - 4;
+        buffer.putInt(0, length);
+        buffer.putInt(length);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Reads a record written by encode
+     * @param buffer Content of the record, without the lengths around it
+     * @return The record
+     */
+    @Nonnull
+    static EditRecord decode(@Nonnull final ByteBuffer buffer) {
+        final long time = buffer.getLong();
+        final UUID playerId = new UUID(buffer.getLong(), buffer.getLong());
+        final UUID worldId = new UUID(buffer.getLong(), buffer.getLong());
+        final String playerName = getString(buffer);
+        final String tool = getString(buffer);
+        final BlockFace face = BlockFace.values()[buffer.get()];
+        final int centerX = buffer.getInt();
+        final int centerY = buffer.getInt();
+        final int centerZ = buffer.getInt();
+
+        final int paletteSize = getVarInt(buffer);
+        final ArrayList<String> palette = new ArrayList<>(paletteSize);
+        for (int i = 0; i < paletteSize; i++) {
+            palette.add(getString(buffer));
+        }
+
+        final int size = getVarInt(buffer);
+        final long[] positions = new long[size];
+        final int[] paletteIds = new int[size];
+        int x = centerX, y = centerY, z = centerZ;
+        for (int i = 0; i < size; i++) {
+            x += unZigZag(getVarInt(buffer));
+            y += unZigZag(getVarInt(buffer));
+            z += unZigZag(getVarInt(buffer));
+            positions[i] = PackedPos.pack(x, y, z);
+            paletteIds[i] = getVarInt(buffer);
+        }
+
+        final EditRecord record = new EditRecord(time, playerId, playerName, worldId, tool, face, centerX, centerY, centerZ,
+                palette, positions, paletteIds);
+        record.size = size;
+        return record;
+    }
+
+    /**
+     * @return Time of the swing in milliseconds since the epoch, read without decoding the rest of the record
+     */
+    static long peekTime(@Nonnull final ByteBuffer buffer) {
+        return buffer.getLong(buffer.position());
+    }
+
+    private static void putBytes(@Nonnull final ByteBuffer buffer, @Nonnull final byte[] bytes) {
+        putVarInt(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    @Nonnull
+    private static String getString(@Nonnull final ByteBuffer buffer) {
+        final byte[] bytes = new byte[getVarInt(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putVarInt(@Nonnull final ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarInt(@Nonnull final ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed journal record");
+    }
+
+    private static int zigZag(final int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(final int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    @Nonnull
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    @Nonnull
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    @Nonnull
+    public UUID getWorldId() {
+        return worldId;
+    }
+
+    @Nonnull
+    public String getTool() {
+        return tool;
+    }
+
+    @Nonnull
+    public BlockFace getFace() {
+        return face;
+    }
+
+    /**
+     * @return Packed position of the block broken by the player, see PackedPos
+     */
+    public long getCenter() {
+        return PackedPos.pack(centerX, centerY, centerZ);
+    }
+
+    /**
+     * @return Distinct blocks of the swing, as written by BlockData.getAsString
+     */
+    @Nonnull
+    public List<String> getPalette() {
+        return palette;
+    }
+
+    /**
+     * @return Packed positions of the broken blocks in the order they were broken, see PackedPos
+     */
+    @Nonnull
+    public long[] getPositions() {
+        return positions;
+    }
+
+    /**
+     * @return Index in the palette of the block that was at each position
+     */
+    @Nonnull
+    public int[] getPaletteIds() {
+        return paletteIds;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Undoes the swings a player made recently, for /jpm rollback. The journal is read by an async task, newest
+ * record first, and the swings are queued on the BreakScheduler oldest first so a position broken twice ends
+ * up with the block it had before the first swing. They wait for room in the queues like the players' swings,
+ * the next ones are queued as the previous ones are finished.
+ */
+
+package jodelle.powermining.journal;
+
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.scheduler.BreakScheduler;
+import jodelle.powermining.scheduler.RestoreJob;
+import org.bukkit.ChatColor;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class Rollback {
+    // Rollbacks asked from the console share this queue
+    private static final UUID CONSOLE_ID = new UUID(0L, 0L);
+    private static final Pattern DURATION = Pattern.compile("(\\d{1,9})([smhdw])");
+
+    private final PowerMining plugin;
+    private final CommandSender sender;
+    private final String playerName;
+    private List<EditRecord> records;
+    private UUID ownerId;
+    // Index of the next swing to be queued, the records are newest first
+    private int next = -1;
+    private int jobsQueued = 0;
+    private boolean submitting = false;
+    private boolean cutShort = false;
+
+    private Rollback(@Nonnull final PowerMining plugin, @Nonnull final CommandSender sender, @Nonnull final String playerName) {
+        this.plugin = plugin;
+        this.sender = sender;
+        this.playerName = playerName;
+    }
+
+    /**
+     * Reads a duration like 30m, 2h or 1d12h
+     * @param text Duration written with s, m, h, d or w after each number
+     * @return The duration in milliseconds, -1 if the text isn't a duration
+     */
+    public static long parseDuration(@Nonnull final String text) {
+        final Matcher matcher = DURATION.matcher(text.toLowerCase());
+        long millis = 0;
+        int end = 0;
+        while (matcher.find() && matcher.start() == end) {
+            final long amount = Long.parseLong(matcher.group(1));
+            switch (matcher.group(2)) {
+                case "s":
+                    millis += amount * 1000L;
+                    break;
+                case "m":
+                    millis += amount * 60_000L;
+                    break;
+                case "h":
+                    millis += amount * 3_600_000L;
+                    break;
+                case "d":
+                    millis += amount * 86_400_000L;
+                    break;
+                default:
+                    millis += amount * 604_800_000L;
+                    break;
+            }
+            end = matcher.end();
+        }
+        return end > 0 && end == text.length() ? millis : -1;
+    }
+
+    /**
+     * Starts undoing the swings of the player, the outcome is sent to the sender
+     * @param plugin Instance of the plugin
+     * @param sender Who asked for the rollback
+     * @param playerName Name of the player whose swings are undone
+     * @param millis How far back the swings are undone
+     */
+    public static void start(@Nonnull final PowerMining plugin, @Nonnull final CommandSender sender,
+                             @Nonnull final String playerName, final long millis) {
+        final EditJournal journal = plugin.getEditJournal();
+        if (journal == null) {
+            sender.sendMessage(ChatColor.RED + "[JodellePowerMining] - The journal is disabled, there is nothing to roll back");
+            return;
+        }
+
+        // Online players are matched by id, so a name taken over by someone else isn't mixed up
+        final Player target = plugin.getServer().getPlayerExact(playerName);
+        final Predicate<EditRecord> filter;
+        if (target != null) {
+            final UUID targetId = target.getUniqueId();
+            filter = record -> record.getPlayerId().equals(targetId);
+        } else {
+            filter = record -> record.getPlayerName().equalsIgnoreCase(playerName);
+        }
+
+        final long since = System.currentTimeMillis() - millis;
+        final Rollback rollback = new Rollback(plugin, sender, playerName);
+
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                final List<EditRecord> records = journal.readBack(since, filter);
+                plugin.getServer().getScheduler().runTask(plugin, () -> rollback.restore(records));
+            } catch (IOException | RuntimeException e) {
+                plugin.getServer().getScheduler().runTask(plugin, () ->
+                        sender.sendMessage(ChatColor.RED + "[JodellePowerMining] - Couldn't read the journal: " + e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Starts queueing the swings, oldest first. Each job loads the chunks of its swing when it gets its first turn.
+     * @param records Swings to be undone, newest first
+     */
+    private void restore(@Nonnull final List<EditRecord> records) {
+        int swings = 0;
+        int blocks = 0;
+        for (EditRecord record : records) {
+            if (plugin.getServer().getWorld(record.getWorldId()) != null) {
+                swings++;
+                blocks += record.size();
+            }
+        }
+
+        if (swings == 0) {
+            sender.sendMessage(ChatColor.RED + "[JodellePowerMining] - Nothing to roll back for " + playerName);
+            return;
+        }
+        sender.sendMessage(ChatColor.GREEN + "[JodellePowerMining] - Rolling back " + blocks + " blocks of " + swings + " swings by " + playerName);
+
+        this.records = records;
+        this.ownerId = sender instanceof Player ? ((Player) sender).getUniqueId() : CONSOLE_ID;
+        this.next = records.size() - 1;
+        submitBatch();
+    }
+
+    /**
+     * Queues the next swings until the queues are full. One swing is always let in when none is queued, so the
+     * rollback goes on even while the queues are full of the players' swings.
+     */
+    private void submitBatch() {
+        // A job with no block left is finished as soon as it's submitted, and asks for the next batch right away
+        if (submitting) {
+            return;
+        }
+        submitting = true;
+
+        final BreakScheduler scheduler = plugin.getBreakScheduler();
+        while (next >= 0) {
+            final EditRecord record = records.get(next);
+            final World world = plugin.getServer().getWorld(record.getWorldId());
+            if (world == null) {
+                next--;
+                continue;
+            }
+
+            jobsQueued++;
+            if (!scheduler.submit(new RestoreJob(plugin, ownerId, world, record, this), jobsQueued == 1)) {
+                jobsQueued--;
+                break;
+            }
+            next--;
+        }
+        submitting = false;
+    }
+
+    /**
+     * Called by each RestoreJob of the rollback once it's finished
+     * @param complete False if the job was dropped because the plugin is being disabled
+     */
+    public void jobFinished(final boolean complete) {
+        jobsQueued--;
+        if (complete) {
+            submitBatch();
+            return;
+        }
+
+        if (!cutShort) {
+            cutShort = true;
+            sender.sendMessage(ChatColor.RED + "[JodellePowerMining] - The rollback of " + playerName
+                    + " was cut short by the plugin being disabled, run it again once the plugin is back");
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Protection decisions for every block of a PowerTool swing, resolved once per swing instead of once per block.
+ * The protection is resolved per chunk section through the ProtectionCache, so the next swings in the same
+ * sections reuse it, and sections that are entirely allowed or denied skip the checks of their blocks.
+ */
+
+package jodelle.powermining.lib;
+
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.protection.ProtectionCache;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.List;
+
+public abstract class AreaProtection {
+
+    public static final AreaProtection ALLOW_ALL = new AreaProtection() {
+        @Override
+        public boolean canBreak(@Nonnull final Block block) {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "allow all";
+        }
+    };
+
+    public static final AreaProtection DENY_ALL = new AreaProtection() {
+        @Override
+        public boolean canBreak(@Nonnull final Block block) {
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "deny all";
+        }
+    };
+
+    /**
+     * Checks if the player is allowed to destroy a block inside the area
+     * @param block Block to be destroyed
+     * @return True if the player is allowed to destroy the block
+     */
+    public abstract boolean canBreak(@Nonnull final Block block);
+
+    /**
+     * Resolves the protection of the area covered by the blocks
+     * @param plugin Instance of the plugin
+     * @param player Player who is breaking the blocks
+     * @param blocks Blocks of the area, all in the same world
+     * @return Protection decisions for the area
+     */
+    @Nonnull
+    public static AreaProtection resolve(@Nonnull final PowerMining plugin, @Nonnull final Player player, @Nonnull final List<Block> blocks) {
+        if (plugin.getProtectionChain().isEmpty() || blocks.isEmpty()) {
+            return ALLOW_ALL;
+        }
+
+        final long[] positions = new long[blocks.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = PackedPos.pack(blocks.get(i));
+        }
+
+        return resolve(plugin, player, blocks.get(0).getWorld(), positions, positions.length);
+    }
+
+    /**
+     * Resolves the protection of the area covered by the positions
+     * @param plugin Instance of the plugin
+     * @param player Player who is breaking the blocks
+     * @param world World of the blocks
+     * @param positions Packed positions of the blocks, see PackedPos
+     * @param size How many positions are used
+     * @return Protection decisions for the area
+     */
+    @Nonnull
+    public static AreaProtection resolve(@Nonnull final PowerMining plugin, @Nonnull final Player player, @Nonnull final World world,
+                                         @Nonnull final long[] positions, final int size) {
+        if (plugin.getProtectionChain().isEmpty() || size == 0) {
+            return ALLOW_ALL;
+        }
+
+        final ProtectionCache cache = plugin.getProtectionCache();
+        final HashMap<Long, AreaProtection> sections = new HashMap<>();
+        boolean allowAll = true;
+        boolean denyAll = true;
+        long lastSection = 0;
+
+        for (int i = 0; i < size; i++) {
+            final long section = PackedPos.section(positions[i]);
+            // Neighbouring positions are usually in the same section
+            if (i > 0 && section == lastSection) {
+                continue;
+            }
+            lastSection = section;
+            if (sections.containsKey(section)) {
+                continue;
+            }
+
+            final AreaProtection protection = cache.get(player, world, section);
+            sections.put(section, protection);
+            allowAll &= protection == ALLOW_ALL;
+            denyAll &= protection == DENY_ALL;
+        }
+
+        final AreaProtection protection;
+        if (allowAll) {
+            protection = ALLOW_ALL;
+        } else if (denyAll) {
+            protection = DENY_ALL;
+        } else if (sections.size() == 1) {
+            protection = sections.values().iterator().next();
+        } else {
+            protection = new SectionProtection(sections);
+        }
+
+        plugin.getDebuggingMessages().log(DebuggingMessages.Category.PROTECTION, () -> "Resolved protection for " + size + " blocks: " + protection);
+        return protection;
+    }
+
+    /**
+     * Protection of an area spread over several chunk sections, each block is checked by the protection of its section
+     */
+    private static final class SectionProtection extends AreaProtection {
+        private final HashMap<Long, AreaProtection> sections;
+
+        private SectionProtection(@Nonnull final HashMap<Long, AreaProtection> sections) {
+            this.sections = sections;
+        }
+
+        @Override
+        public boolean canBreak(@Nonnull final Block block) {
+            final AreaProtection protection = sections.get(PackedPos.section(PackedPos.pack(block)));
+            // Blocks outside of the resolved area were never checked
+            return protection != null && protection.canBreak(block);
+        }
+
+        @Override
+        public String toString() {
+            return sections.size() + " sections";
+        }
+    }
+}
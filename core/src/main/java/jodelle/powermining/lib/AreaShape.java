@@ -0,0 +1,239 @@
+/*
+ * Offsets of the blocks affected by a PowerTool around the block it was used on, computed once per
+ * (BlockFace, shape, radius, depth) and shared by every swing. Callers walk plain coordinates and only
+ * create Block objects for the positions they actually need.
+ */
+
+package jodelle.powermining.lib;
+
+import org.bukkit.block.BlockFace;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+public final class AreaShape {
+    static final AreaShape EMPTY = new AreaShape(new int[0]);
+    private static final ConcurrentHashMap<Long, AreaShape> CACHE = new ConcurrentHashMap<>();
+    // Offsets are sorted as a single number, each of them biased so it stays positive in 21 bits
+    private static final int SORT_BIAS = 1 << 20;
+
+    // x, y, z of each block, relative to the center block
+    private final int[] offsets;
+
+    private AreaShape(@Nonnull final int[] offsets) {
+        this.offsets = offsets;
+    }
+
+    /**
+     * Receives the coordinates of each block of the shape
+     */
+    public interface Visitor {
+        void visit(int x, int y, int z);
+    }
+
+    /**
+     * Shape used by the Hammers and Excavators: a square of the given radius facing the player,
+     * going the given depth into the blocks
+     * @param blockFace Face of the block where the player clicked
+     * @param radius Radius of the hole
+     * @param depth Depth of the hole
+     * @return Cached shape
+     */
+    @Nonnull
+    public static AreaShape box(@Nonnull final BlockFace blockFace, final int radius, final int depth) {
+        return CACHE.computeIfAbsent(key(0, blockFace, radius, depth), k -> buildBox(blockFace, radius, depth));
+    }
+
+    /**
+     * Shape used by the Plows: a flat square of the given radius, only when the top of the block was clicked
+     * @param blockFace Face of the block where the player clicked
+     * @param radius Radius of the square
+     * @return Cached shape
+     */
+    @Nonnull
+    public static AreaShape farm(@Nonnull final BlockFace blockFace, final int radius) {
+        if (blockFace != BlockFace.UP) {
+            return EMPTY;
+        }
+        return CACHE.computeIfAbsent(key(1, blockFace, radius, 0), k -> buildBox(BlockFace.UP, radius, 0));
+    }
+
+    /**
+     * Shape of an AreaTemplate, built the first time it's asked for
+     * @param kind Kind of template, different from the ones used by box and farm
+     * @param blockFace Face of the block where the player clicked
+     * @param radius Radius of the template
+     * @param depth Depth of the template
+     * @param builder Builds the shape when it isn't cached yet
+     * @return Cached shape
+     */
+    @Nonnull
+    static AreaShape cached(final int kind, @Nonnull final BlockFace blockFace, final int radius, final int depth,
+                            @Nonnull final Supplier<AreaShape> builder) {
+        return CACHE.computeIfAbsent(key(kind, blockFace, radius, depth), k -> builder.get());
+    }
+
+    /**
+     * Turns offsets seen from the player into offsets in the world. Each block is given as u, going to the right
+     * of the player, v, going up, and w, going into the block. On the top and bottom faces v goes north.
+     * @param blockFace Face of the block where the player clicked
+     * @param local u, v and w of each block
+     * @return Shape visited in the same order as the boxes: x, then y, then z
+     */
+    @Nonnull
+    static AreaShape rotate(@Nonnull final BlockFace blockFace, @Nonnull final int[] local) {
+        final long[] sorted = new long[local.length / 3];
+        for (int i = 0, j = 0; i < local.length; i += 3, j++) {
+            final int u = local[i], v = local[i + 1], w = local[i + 2];
+            switch (blockFace) {
+                case UP:
+                    sorted[j] = sortKey(u, -w, -v);
+                    break;
+                case DOWN:
+                    sorted[j] = sortKey(u, w, -v);
+                    break;
+                case EAST:
+                    sorted[j] = sortKey(-w, v, -u);
+                    break;
+                case WEST:
+                    sorted[j] = sortKey(w, v, u);
+                    break;
+                case NORTH:
+                    sorted[j] = sortKey(-u, v, w);
+                    break;
+                case SOUTH:
+                    sorted[j] = sortKey(u, v, -w);
+                    break;
+                default:
+                    return EMPTY;
+            }
+        }
+        Arrays.sort(sorted);
+
+        final int[] offsets = new int[local.length];
+        int size = 0;
+        for (int j = 0; j < sorted.length; j++) {
+            if (j > 0 && sorted[j] == sorted[j - 1]) {
+                continue;
+            }
+            offsets[size++] = (int) (sorted[j] >>> 42) - SORT_BIAS;
+            offsets[size++] = (int) ((sorted[j] >>> 21) & 0x1FFFFF) - SORT_BIAS;
+            offsets[size++] = (int) (sorted[j] & 0x1FFFFF) - SORT_BIAS;
+        }
+        return new AreaShape(size == offsets.length ? offsets : Arrays.copyOf(offsets, size));
+    }
+
+    /**
+     * Keeps the blocks of a single level of the shape
+     * @param y Level relative to the center block
+     * @return The blocks of the shape at that level
+     */
+    @Nonnull
+    AreaShape level(final int y) {
+        int size = 0;
+        final int[] kept = new int[offsets.length];
+        for (int i = 0; i < offsets.length; i += 3) {
+            if (offsets[i + 1] == y) {
+                kept[size++] = offsets[i];
+                kept[size++] = offsets[i + 1];
+                kept[size++] = offsets[i + 2];
+            }
+        }
+        return size == 0 ? EMPTY : new AreaShape(Arrays.copyOf(kept, size));
+    }
+
+    /**
+     * @return Number of blocks in the shape
+     */
+    public int size() {
+        return offsets.length / 3;
+    }
+
+    /**
+     * Visits every block of the shape around the center block
+     * @param x X of the center block
+     * @param y Y of the center block
+     * @param z Z of the center block
+     * @param visitor Receives the coordinates of each block
+     */
+    public void forEach(final int x, final int y, final int z, @Nonnull final Visitor visitor) {
+        for (int i = 0; i < offsets.length; i += 3) {
+            visitor.visit(x + offsets[i], y + offsets[i + 1], z + offsets[i + 2]);
+        }
+    }
+
+    /**
+     * Packs the positions of every block of the shape around the center block
+     * @param x X of the center block
+     * @param y Y of the center block
+     * @param z Z of the center block
+     * @return Packed positions, see PackedPos
+     */
+    @Nonnull
+    public long[] pack(final int x, final int y, final int z) {
+        final long[] positions = new long[size()];
+        for (int i = 0, j = 0; i < offsets.length; i += 3, j++) {
+            positions[j] = PackedPos.pack(x + offsets[i], y + offsets[i + 1], z + offsets[i + 2]);
+        }
+        return positions;
+    }
+
+    private static long sortKey(final int x, final int y, final int z) {
+        return ((long) (x + SORT_BIAS) << 42) | ((long) (y + SORT_BIAS) << 21) | (z + SORT_BIAS);
+    }
+
+    private static long key(final int kind, @Nonnull final BlockFace blockFace, final int radius, final int depth) {
+        return ((long) kind << 56) | ((long) blockFace.ordinal() << 48) | ((long) (radius & 0xFFFFFF) << 24) | (depth & 0xFFFFFF);
+    }
+
+    /**
+     * Works out the offsets of the hole, in the same order the blocks were always visited: x, then y, then z
+     */
+    @Nonnull
+    private static AreaShape buildBox(@Nonnull final BlockFace blockFace, final int radius, final int depth) {
+        if (radius < 0 || depth < 0) {
+            return EMPTY;
+        }
+
+        final int minX, maxX, minY, maxY, minZ, maxZ;
+
+        // Check the block face from which the block is being broken in order to get the correct surrounding blocks
+        switch (blockFace) {
+            case UP:
+                minX = -radius; maxX = radius; minY = -depth; maxY = 0; minZ = -radius; maxZ = radius;
+                break;
+            case DOWN:
+                minX = -radius; maxX = radius; minY = 0; maxY = depth; minZ = -radius; maxZ = radius;
+                break;
+            case EAST:
+                minX = -depth; maxX = 0; minY = -radius; maxY = radius; minZ = -radius; maxZ = radius;
+                break;
+            case WEST:
+                minX = 0; maxX = depth; minY = -radius; maxY = radius; minZ = -radius; maxZ = radius;
+                break;
+            case NORTH:
+                minX = -radius; maxX = radius; minY = -radius; maxY = radius; minZ = 0; maxZ = depth;
+                break;
+            case SOUTH:
+                minX = -radius; maxX = radius; minY = -radius; maxY = radius; minZ = -depth; maxZ = 0;
+                break;
+            default:
+                return EMPTY;
+        }
+
+        final int[] offsets = new int[3 * (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1)];
+        int i = 0;
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    offsets[i++] = x;
+                    offsets[i++] = y;
+                    offsets[i++] = z;
+                }
+            }
+        }
+        return new AreaShape(offsets);
+    }
+}
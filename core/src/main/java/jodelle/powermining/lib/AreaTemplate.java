@@ -0,0 +1,211 @@
+/*
+ * Shape of the area a PowerTool breaks, as set for its tier or for the tool itself in the Shapes section of the
+ * config file. The template is turned into an AreaShape for each face of the block when the config is read, so a
+ * swing only picks the array of its face, however big or odd the shape is.
+ */
+
+package jodelle.powermining.lib;
+
+import org.bukkit.block.BlockFace;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+
+public final class AreaTemplate {
+
+    public enum Type {
+        // Square of the radius facing the player, going the depth into the blocks
+        CUBE,
+        // Square of the radius facing the player, a single block deep
+        SQUARE,
+        // Ball of the radius around the center block
+        SPHERE,
+        // Horizontal and vertical lines of the radius, going the depth into the blocks
+        CROSS,
+        // The center block and the one under it, going the depth into the blocks
+        TUNNEL,
+        // Blocks marked on the layers of the mask
+        MASK
+    }
+
+    private static final BlockFace[] FACES = {
+            BlockFace.UP, BlockFace.DOWN, BlockFace.NORTH, BlockFace.SOUTH, BlockFace.EAST, BlockFace.WEST
+    };
+
+    private final Type type;
+    // Indexed by BlockFace ordinal, empty for the faces a player can't click
+    private final AreaShape[] faces = new AreaShape[BlockFace.values().length];
+    // Used by the Plows, only the level of the clicked block
+    private final AreaShape surface;
+
+    private AreaTemplate(@Nonnull final Type type, @Nonnull final AreaShape[] shapes) {
+        this.type = type;
+        Arrays.fill(faces, AreaShape.EMPTY);
+        for (int i = 0; i < FACES.length; i++) {
+            faces[FACES[i].ordinal()] = shapes[i];
+        }
+        surface = faces[BlockFace.UP.ordinal()].level(0);
+    }
+
+    /**
+     * Builds one of the fixed shapes. Templates with the same type, radius and depth share their arrays.
+     * @param type Type of the shape, anything but MASK
+     * @param radius Radius of the shape
+     * @param depth Depth of the shape, not used by SQUARE and SPHERE
+     * @return The template
+     */
+    @Nonnull
+    public static AreaTemplate of(@Nonnull final Type type, final int radius, final int depth) {
+        if (type == Type.MASK) {
+            throw new IllegalArgumentException("A MASK is built from its layers");
+        }
+
+        final AreaShape[] shapes = new AreaShape[FACES.length];
+        for (int i = 0; i < FACES.length; i++) {
+            final BlockFace face = FACES[i];
+            if (type == Type.CUBE) {
+                // Same arrays as AreaShape.box, the default shape keeps working as it always did
+                shapes[i] = AreaShape.box(face, radius, depth);
+            } else {
+                shapes[i] = AreaShape.cached(2 + type.ordinal(), face, radius, depth,
+                        () -> AreaShape.rotate(face, local(type, Math.max(0, radius), Math.max(0, depth))));
+            }
+        }
+        return new AreaTemplate(type, shapes);
+    }
+
+    /**
+     * Builds a shape drawn by the admin. Each layer is a list of rows, from the top row to the bottom one, as seen
+     * by the player. An X marks a block that is broken. The first layer is the level of the clicked block, each next
+     * layer goes one block further into the blocks, and the middle of the rows is the clicked block.
+     * @param layers Layers of the mask
+     * @return The template, null if no block is marked
+     */
+    @Nullable
+    public static AreaTemplate mask(@Nonnull final List<List<String>> layers) {
+        final Offsets local = new Offsets();
+        for (int w = 0; w < layers.size(); w++) {
+            final List<String> rows = layers.get(w);
+            int width = 0;
+            for (String row : rows) {
+                width = Math.max(width, row.length());
+            }
+
+            for (int r = 0; r < rows.size(); r++) {
+                final String row = rows.get(r);
+                for (int c = 0; c < row.length(); c++) {
+                    if (Character.toUpperCase(row.charAt(c)) == 'X') {
+                        local.add(c - width / 2, rows.size() / 2 - r, w);
+                    }
+                }
+            }
+        }
+
+        if (local.size == 0) {
+            return null;
+        }
+
+        final int[] offsets = local.toArray();
+        final AreaShape[] shapes = new AreaShape[FACES.length];
+        for (int i = 0; i < FACES.length; i++) {
+            shapes[i] = AreaShape.rotate(FACES[i], offsets);
+        }
+        return new AreaTemplate(Type.MASK, shapes);
+    }
+
+    /**
+     * Works out the blocks of a fixed shape as seen from the player, see AreaShape.rotate
+     */
+    @Nonnull
+    private static int[] local(@Nonnull final Type type, final int radius, final int depth) {
+        final Offsets local = new Offsets();
+        switch (type) {
+            case SQUARE:
+                for (int u = -radius; u <= radius; u++) {
+                    for (int v = -radius; v <= radius; v++) {
+                        local.add(u, v, 0);
+                    }
+                }
+                break;
+            case SPHERE:
+                // Rounded like the usual block spheres, so a radius of 1 isn't just 7 blocks
+                final int limit = radius * radius + radius;
+                for (int u = -radius; u <= radius; u++) {
+                    for (int v = -radius; v <= radius; v++) {
+                        for (int w = -radius; w <= radius; w++) {
+                            if (u * u + v * v + w * w <= limit) {
+                                local.add(u, v, w);
+                            }
+                        }
+                    }
+                }
+                break;
+            case CROSS:
+                for (int w = 0; w <= depth; w++) {
+                    for (int i = -radius; i <= radius; i++) {
+                        local.add(i, 0, w);
+                        if (i != 0) {
+                            local.add(0, i, w);
+                        }
+                    }
+                }
+                break;
+            case TUNNEL:
+                for (int w = 0; w <= depth; w++) {
+                    local.add(0, 0, w);
+                    local.add(0, -1, w);
+                }
+                break;
+            default:
+                break;
+        }
+        return local.toArray();
+    }
+
+    @Nonnull
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @param blockFace Face of the block where the player clicked
+     * @return Blocks broken by a Hammer or an Excavator
+     */
+    @Nonnull
+    public AreaShape forFace(@Nonnull final BlockFace blockFace) {
+        return faces[blockFace.ordinal()];
+    }
+
+    /**
+     * @param blockFace Face of the block where the player clicked
+     * @return Blocks used by a Plow, only when the top of the block was clicked
+     */
+    @Nonnull
+    public AreaShape surface(@Nonnull final BlockFace blockFace) {
+        return blockFace == BlockFace.UP ? surface : AreaShape.EMPTY;
+    }
+
+    /**
+     * Growable list of u, v, w offsets
+     */
+    private static final class Offsets {
+        private int[] values = new int[48];
+        private int size = 0;
+
+        private void add(final int u, final int v, final int w) {
+            if (size + 3 > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[size++] = u;
+            values[size++] = v;
+            values[size++] = w;
+        }
+
+        @Nonnull
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Keeps the PowerTools from loading chunks on the main thread. Finds the chunks of a swing that aren't loaded, which
+ * are then either left out, or requested from the Platform first when the server can load them asynchronously.
+ */
+
+package jodelle.powermining.lib;
+
+import org.bukkit.World;
+
+import javax.annotation.Nonnull;
+
+public final class ChunkLoader {
+    private ChunkLoader() {
+    }
+
+    /**
+     * @param world World of the position
+     * @param pos Packed position, see PackedPos
+     * @return True if the chunk of the position is loaded
+     */
+    public static boolean isLoaded(@Nonnull final World world, final long pos) {
+        return world.isChunkLoaded(PackedPos.x(pos) >> 4, PackedPos.z(pos) >> 4);
+    }
+
+    /**
+     * Collects the chunks of the positions that aren't loaded
+     * @param world World of the positions
+     * @param positions Packed positions, see PackedPos
+     * @param size How many positions are used
+     * @return Keys of the unloaded chunks, see PackedPos.chunkKey, or null if every chunk is loaded
+     */
+    public static long[] unloadedChunks(@Nonnull final World world, @Nonnull final long[] positions, final int size) {
+        LongHashSet checked = null;
+        long[] unloaded = null;
+        int count = 0;
+        long lastChunk = 0;
+        boolean hasLast = false;
+
+        for (int i = 0; i < size; i++) {
+            final long chunkKey = PackedPos.chunkKey(positions[i]);
+            // Neighbouring positions are usually in the same chunk
+            if (hasLast && chunkKey == lastChunk) {
+                continue;
+            }
+            lastChunk = chunkKey;
+            hasLast = true;
+
+            if (checked == null) {
+                checked = new LongHashSet(16);
+            }
+            if (!checked.add(chunkKey) || world.isChunkLoaded(PackedPos.chunkX(chunkKey), PackedPos.chunkZ(chunkKey))) {
+                continue;
+            }
+
+            if (unloaded == null) {
+                unloaded = new long[4];
+            } else if (count == unloaded.length) {
+                final long[] bigger = new long[count * 2];
+                System.arraycopy(unloaded, 0, bigger, 0, count);
+                unloaded = bigger;
+            }
+            unloaded[count++] = chunkKey;
+        }
+
+        if (unloaded == null) {
+            return null;
+        }
+        final long[] result = new long[count];
+        System.arraycopy(unloaded, 0, result, 0, count);
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * A PowerTool recipe from the config file, reduced to the material and the quantity needed in each of the 9 slots.
+ * Shaped recipes can't ask for more than one item per slot, so the quantities are checked against these arrays
+ * while the player fills the crafting table.
+ */
+
+package jodelle.powermining.lib;
+
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+public final class CompiledRecipe {
+    private final NamespacedKey key;
+    private final PowerToolType type;
+    // Null and 0 for the empty slots
+    private final Material[] materials;
+    private final int[] amounts;
+
+    /**
+     * @param key Key the recipe is registered with
+     * @param type PowerTool crafted by the recipe
+     * @param recipe The 9 slots of the recipe, null for an empty slot
+     */
+    CompiledRecipe(@Nonnull final NamespacedKey key, @Nonnull final PowerToolType type, @Nonnull final ItemStack[] recipe) {
+        this.key = key;
+        this.type = type;
+        this.materials = new Material[recipe.length];
+        this.amounts = new int[recipe.length];
+        for (int i = 0; i < recipe.length; i++) {
+            if (recipe[i] != null) {
+                materials[i] = recipe[i].getType();
+                amounts[i] = recipe[i].getAmount();
+            }
+        }
+    }
+
+    /**
+     * Finds the first slot of the crafting table without enough items
+     * @param matrix Crafting table matrix
+     * @return Index of the slot, -1 if every slot has enough items
+     */
+    public int missingSlot(@Nonnull final ItemStack[] matrix) {
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] > 0 && (matrix[i] == null || matrix[i].getAmount() < amounts[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Counts how many times the recipe can be crafted with the items on the crafting table
+     * @param matrix Crafting table matrix
+     * @return Number of crafts, 0 if a slot doesn't have enough items
+     */
+    public int maxCrafts(@Nonnull final ItemStack[] matrix) {
+        int crafts = Integer.MAX_VALUE;
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] == 0) {
+                continue;
+            }
+            if (matrix[i] == null) {
+                return 0;
+            }
+            crafts = Math.min(crafts, matrix[i].getAmount() / amounts[i]);
+        }
+        return crafts == Integer.MAX_VALUE ? 0 : crafts;
+    }
+
+    @Nonnull
+    public NamespacedKey getKey() {
+        return key;
+    }
+
+    @Nonnull
+    public PowerToolType getType() {
+        return type;
+    }
+
+    /**
+     * @param slot Slot of the crafting table, from 0 to 8
+     * @return Material needed in the slot, null if it stays empty
+     */
+    @Nullable
+    public Material getMaterial(final int slot) {
+        return materials[slot];
+    }
+
+    /**
+     * @param slot Slot of the crafting table, from 0 to 8
+     * @return Items needed in the slot, 0 if it stays empty
+     */
+    public int getAmount(final int slot) {
+        return amounts[slot];
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompiledRecipe)) {
+            return false;
+        }
+        final CompiledRecipe other = (CompiledRecipe) o;
+        return key.equals(other.key) && Arrays.equals(materials, other.materials) && Arrays.equals(amounts, other.amounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * key.hashCode() + Arrays.hashCode(amounts);
+    }
+}
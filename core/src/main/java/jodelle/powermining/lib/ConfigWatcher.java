@@ -0,0 +1,100 @@
+/*
+ * Watches the plugin folder and reloads the config when config.yml is saved. Editors usually write the file
+ * in several steps, so the reload waits until the file has been quiet for a moment.
+ */
+
+package jodelle.powermining.lib;
+
+import jodelle.powermining.PowerMining;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+public class ConfigWatcher implements Runnable {
+    private static final long QUIET_MILLIS = 500;
+
+    private final PowerMining plugin;
+    private final Path folder;
+    private final Path fileName;
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * @param plugin Plugin to be reloaded
+     * @param file Config file to be watched
+     */
+    public ConfigWatcher(@Nonnull final PowerMining plugin, @Nonnull final Path file) {
+        this.plugin = plugin;
+        this.folder = file.toAbsolutePath().getParent();
+        this.fileName = file.getFileName();
+    }
+
+    /**
+     * Starts watching the file on a daemon thread
+     * @throws IOException If the folder can't be watched
+     */
+    public void start() throws IOException {
+        watchService = folder.getFileSystem().newWatchService();
+        folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        thread = new Thread(this, "JodellePowerMining-ConfigWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching the file
+     */
+    public void stop() {
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+            // Nothing left to do, the thread stops either way
+        }
+        thread.interrupt();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                if (!changed(watchService.take())) {
+                    continue;
+                }
+
+                // Swallow the rest of the writes before reloading
+                WatchKey key;
+                while ((key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed(key);
+                }
+
+                plugin.getLogger().info("config.yml changed, reloading it.");
+                plugin.reloadPluginConfig(null);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped by the plugin
+        }
+    }
+
+    /**
+     * Consumes the events of a key
+     * @return True if one of them is about the config file
+     */
+    private boolean changed(@Nonnull final WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (fileName.equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * File the enabled debugging messages are written to. The threads that log only queue the messages, a background
+ * thread writes them in batches. When the writer falls behind the messages are dropped and only their count is
+ * written, so debugging never holds a tick back.
+ */
+
+package jodelle.powermining.lib;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+public class DebugLog implements Runnable {
+    private static final int QUEUE_SIZE = 4096;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final Path file;
+    private final Logger logger;
+    private final ArrayBlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private final AtomicInteger dropped = new AtomicInteger();
+    private volatile boolean running = false;
+    private BufferedWriter writer;
+    private Thread thread;
+
+    /**
+     * @param file Log file, the messages are added at its end
+     * @param logger Receives the problems found while writing
+     */
+    public DebugLog(@Nonnull final Path file, @Nonnull final Logger logger) {
+        this.file = file;
+        this.logger = logger;
+    }
+
+    /**
+     * Opens the file and starts the writer thread
+     * @throws IOException If the file can't be opened
+     */
+    public void start() throws IOException {
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        running = true;
+
+        thread = new Thread(this, "JodellePowerMining-DebugLog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Writes the messages still waiting and closes the file
+     */
+    public void stop() {
+        running = false;
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Hands a message over to the writer thread, can be called from any thread
+     * @param category Category of the message
+     * @param message Message to be written
+     */
+    public void append(@Nonnull final DebuggingMessages.Category category, @Nonnull final String message) {
+        if (!queue.offer(new Entry(System.currentTimeMillis(), category, message))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    @Nonnull
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void run() {
+        try {
+            final ArrayList<Entry> batch = new ArrayList<>();
+            while (running || !queue.isEmpty()) {
+                final Entry first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch);
+                for (Entry entry : batch) {
+                    writer.write(TIME.format(Instant.ofEpochMilli(entry.time)));
+                    writer.write(" [");
+                    writer.write(entry.category.name());
+                    writer.write("] ");
+                    writer.write(entry.message);
+                    writer.newLine();
+                }
+                batch.clear();
+
+                final int lost = dropped.getAndSet(0);
+                if (lost > 0) {
+                    writer.write("... " + lost + " messages dropped, the log couldn't keep up");
+                    writer.newLine();
+                }
+                writer.flush();
+            }
+        } catch (IOException e) {
+            logger.info("Couldn't write the debug log, debugging messages are no longer written: " + e.getMessage());
+        } catch (InterruptedException e) {
+            // Stopped by the plugin
+        } finally {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+                // Nothing left to do, the messages that made it are already in the file
+            }
+        }
+    }
+
+    /**
+     * A queued message
+     */
+    private static final class Entry {
+        private final long time;
+        private final DebuggingMessages.Category category;
+        private final String message;
+
+        private Entry(final long time, @Nonnull final DebuggingMessages.Category category, @Nonnull final String message) {
+            this.time = time;
+            this.category = category;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Debugging messages of the plugin, split in categories that are turned on in the config file. Messages are given
+ * as suppliers, so nothing is built while their category is off, which it almost always is. The messages of the
+ * enabled categories are written to a DebugLog instead of the console.
+ */
+
+package jodelle.powermining.lib;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+public class DebuggingMessages {
+
+    public enum Category {
+        // Loading of the plugin and its config
+        GENERAL,
+        // Hammer and Excavator swings
+        BREAK,
+        // Plow uses
+        USE,
+        // Crafting of the PowerTools
+        CRAFT,
+        // Answers of the protection plugins
+        PROTECTION
+    }
+
+    private final Logger logger;
+    // Indexed by Category ordinal, replaced as a whole when the config changes
+    private volatile boolean[] enabled = new boolean[Category.values().length];
+    private volatile DebugLog log;
+
+    /**
+     * @param logger Receives the problems found while opening the log
+     */
+    public DebuggingMessages(@Nonnull final Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Turns the categories on and off, opening the log if any of them is on. Must run on the main thread.
+     * @param categories Categories whose messages are written
+     * @param file Log file
+     */
+    public void configure(@Nonnull final Set<Category> categories, @Nonnull final Path file) {
+        if (categories.isEmpty()) {
+            stop();
+            return;
+        }
+
+        if (log == null || !log.getFile().equals(file)) {
+            stop();
+            final DebugLog opened = new DebugLog(file, logger);
+            try {
+                opened.start();
+            } catch (IOException e) {
+                logger.info("Couldn't open the debug log, debugging messages are off: " + e.getMessage());
+                return;
+            }
+            log = opened;
+        }
+
+        final boolean[] flags = new boolean[Category.values().length];
+        for (Category category : categories) {
+            flags[category.ordinal()] = true;
+        }
+        enabled = flags;
+    }
+
+    /**
+     * Turns every category off and closes the log
+     */
+    public void stop() {
+        enabled = new boolean[Category.values().length];
+        if (log != null) {
+            log.stop();
+            log = null;
+        }
+    }
+
+    /**
+     * @param category Category of the message
+     * @return True if messages of the category are written, for the callers that need more than a supplier
+     */
+    public boolean isEnabled(@Nonnull final Category category) {
+        return enabled[category.ordinal()];
+    }
+
+    /**
+     * Writes a message if its category is on, can be called from any thread
+     * @param category Category of the message
+     * @param message Builds the message, only called when it's written
+     */
+    public void log(@Nonnull final Category category, @Nonnull final Supplier<String> message) {
+        if (!enabled[category.ordinal()]) {
+            return;
+        }
+
+        final DebugLog current = log;
+        if (current != null) {
+            current.append(category, message.get());
+        }
+    }
+}
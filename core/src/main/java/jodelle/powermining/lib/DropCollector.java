@@ -0,0 +1,123 @@
+/*
+ * Collects the items dropped by the blocks of a PowerTool swing and merges identical ones,
+ * so the whole swing can be handed out as a few full stacks instead of one item entity per block
+ */
+
+package jodelle.powermining.lib;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class DropCollector {
+    private final PluginConfig config;
+    // Most drops are plain items, those are merged by type only
+    private final EnumMap<Material, Integer> plainItems = new EnumMap<>(Material.class);
+    // Items with meta are merged with the similar ones, the key is a copy with an amount of 1
+    private final LinkedHashMap<ItemStack, Integer> otherItems = new LinkedHashMap<>();
+
+    /**
+     * @param config Snapshot holding the void list
+     */
+    public DropCollector(@Nonnull final PluginConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Adds the drops of a block, ignoring the ones in the void list
+     * @param drops Items dropped by the block
+     */
+    public void add(@Nonnull final Collection<ItemStack> drops) {
+        for (ItemStack drop : drops) {
+            final Material type = drop.getType();
+            if (type == Material.AIR || config.isVoidDrop(type)) {
+                continue;
+            }
+
+            if (!drop.hasItemMeta()) {
+                plainItems.merge(type, drop.getAmount(), Integer::sum);
+                continue;
+            }
+
+            final ItemStack key = drop.clone();
+            key.setAmount(1);
+            otherItems.merge(key, drop.getAmount(), Integer::sum);
+        }
+    }
+
+    public boolean isEmpty() {
+        return plainItems.isEmpty() && otherItems.isEmpty();
+    }
+
+    /**
+     * Splits the collected items into full stacks
+     * @return The stacks, only the last stack of each item might not be full
+     */
+    @Nonnull
+    public ArrayList<ItemStack> toStacks() {
+        final ArrayList<ItemStack> stacks = new ArrayList<>();
+
+        for (Map.Entry<Material, Integer> item : plainItems.entrySet()) {
+            addStacks(stacks, new ItemStack(item.getKey()), item.getValue());
+        }
+        for (Map.Entry<ItemStack, Integer> item : otherItems.entrySet()) {
+            addStacks(stacks, item.getKey(), item.getValue());
+        }
+
+        return stacks;
+    }
+
+    private static void addStacks(@Nonnull final ArrayList<ItemStack> stacks, @Nonnull final ItemStack item, int amount) {
+        final int maxStackSize = Math.max(1, item.getMaxStackSize());
+
+        while (amount > 0) {
+            final ItemStack stack = item.clone();
+            stack.setAmount(Math.min(amount, maxStackSize));
+            stacks.add(stack);
+            amount -= stack.getAmount();
+        }
+    }
+
+    /**
+     * Drops every collected item at the location
+     * @param location Where the items are dropped
+     */
+    public void dropAt(@Nonnull final Location location) {
+        dropAll(location, toStacks());
+    }
+
+    /**
+     * Gives the collected items to the player, whatever doesn't fit is dropped at the location
+     * @param player Player who receives the items
+     * @param location Where the overflow is dropped
+     */
+    public void giveTo(@Nonnull final Player player, @Nonnull final Location location) {
+        final ArrayList<ItemStack> stacks = toStacks();
+        if (stacks.isEmpty()) {
+            return;
+        }
+
+        final Map<Integer, ItemStack> overflow = player.getInventory().addItem(stacks.toArray(new ItemStack[0]));
+        dropAll(location, overflow.values());
+    }
+
+    private static void dropAll(@Nonnull final Location location, @Nonnull final Collection<ItemStack> stacks) {
+        final World world = location.getWorld();
+        if (world == null) {
+            return;
+        }
+
+        for (ItemStack stack : stacks) {
+            world.dropItemNaturally(location, stack);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+/*
+ * How the items of the blocks broken by a PowerTool swing are handed out
+ */
+
+package jodelle.powermining.lib;
+
+public enum DropMode {
+    // Every block drops its own items, like breaking it by hand
+    NATURAL,
+    // Identical items of the whole swing are merged and dropped as few stacks as possible at the center block
+    MERGED,
+    // The merged items go straight to the player's inventory, whatever doesn't fit is dropped at the center block
+    INVENTORY
+}
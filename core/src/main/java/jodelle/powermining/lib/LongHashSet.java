@@ -0,0 +1,102 @@
+/*
+ * Set of packed positions backed by a plain long array, so walking an area doesn't box a Long for every block
+ */
+
+package jodelle.powermining.lib;
+
+import java.util.Arrays;
+
+public class LongHashSet {
+    // Marks an empty slot, the value itself is kept aside
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] slots;
+    private int mask;
+    private int size = 0;
+    private boolean hasEmptyValue = false;
+
+    /**
+     * @param expected How many values are expected, the set grows past it if needed
+     */
+    public LongHashSet(final int expected) {
+        int capacity = 16;
+        while (capacity < expected * 2) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * @param value Value to be added
+     * @return True if the value wasn't in the set yet
+     */
+    public boolean add(final long value) {
+        if (value == EMPTY) {
+            if (hasEmptyValue) {
+                return false;
+            }
+            hasEmptyValue = true;
+            size++;
+            return true;
+        }
+
+        int slot = slot(value);
+        while (slots[slot] != EMPTY) {
+            if (slots[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        slots[slot] = value;
+        if (++size * 2 > slots.length) {
+            grow();
+        }
+        return true;
+    }
+
+    public boolean contains(final long value) {
+        if (value == EMPTY) {
+            return hasEmptyValue;
+        }
+
+        int slot = slot(value);
+        while (slots[slot] != EMPTY) {
+            if (slots[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slot(final long value) {
+        final long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void allocate(final int capacity) {
+        slots = new long[capacity];
+        Arrays.fill(slots, EMPTY);
+        mask = capacity - 1;
+    }
+
+    private void grow() {
+        final long[] old = slots;
+        allocate(old.length * 2);
+        for (long value : old) {
+            if (value == EMPTY) {
+                continue;
+            }
+            int slot = slot(value);
+            while (slots[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = value;
+        }
+    }
+}
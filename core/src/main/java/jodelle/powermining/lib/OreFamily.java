@@ -0,0 +1,44 @@
+/*
+ * Groups the ores that belong to the same vein, like COAL_ORE and DEEPSLATE_COAL_ORE, so vein mining can
+ * follow a vein across the stone and deepslate layers
+ */
+
+package jodelle.powermining.lib;
+
+import org.bukkit.Material;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.HashMap;
+
+public final class OreFamily {
+    public static final int NONE = -1;
+
+    private static final int[] FAMILIES = new int[Material.values().length];
+
+    static {
+        Arrays.fill(FAMILIES, NONE);
+
+        final HashMap<String, Integer> ids = new HashMap<>();
+        for (Material material : Material.values()) {
+            final String name = material.name();
+            if (name.startsWith("LEGACY_") || !(name.endsWith("_ORE") || material == Material.ANCIENT_DEBRIS)) {
+                continue;
+            }
+
+            final String family = name.startsWith("DEEPSLATE_") ? name.substring("DEEPSLATE_".length()) : name;
+            FAMILIES[material.ordinal()] = ids.computeIfAbsent(family, key -> ids.size());
+        }
+    }
+
+    private OreFamily() {
+    }
+
+    /**
+     * @param blockType Type of the block
+     * @return Id of the ore family of the block, or NONE if the block is not an ore
+     */
+    public static int of(@Nonnull final Material blockType) {
+        return FAMILIES[blockType.ordinal()];
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Packs block coordinates into a single long, the same layout Minecraft uses for block positions:
+ * 26 bits of x, 26 bits of z and 12 bits of y
+ */
+
+package jodelle.powermining.lib;
+
+import org.bukkit.block.Block;
+
+import javax.annotation.Nonnull;
+
+public final class PackedPos {
+
+    private PackedPos() {
+    }
+
+    public static long pack(final int x, final int y, final int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public static long pack(@Nonnull final Block block) {
+        return pack(block.getX(), block.getY(), block.getZ());
+    }
+
+    public static int x(final long pos) {
+        return (int) (pos >> 38);
+    }
+
+    public static int y(final long pos) {
+        return (int) (pos << 52 >> 52);
+    }
+
+    public static int z(final long pos) {
+        return (int) (pos << 26 >> 38);
+    }
+
+    /**
+     * @return Key of the chunk that contains the position
+     */
+    public static long chunkKey(final long pos) {
+        return chunkKey(x(pos) >> 4, z(pos) >> 4);
+    }
+
+    /**
+     * @return Packed position of the lowest corner of the 16x16x16 chunk section that contains the position
+     */
+    public static long section(final long pos) {
+        return pack(x(pos) & ~15, y(pos) & ~15, z(pos) & ~15);
+    }
+
+    public static long chunkKey(final int chunkX, final int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public static int chunkX(final long chunkKey) {
+        return (int) (chunkKey >> 32);
+    }
+
+    public static int chunkZ(final long chunkKey) {
+        return (int) chunkKey;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Keeps the craft/use/enchant decisions of each player so the permission plugin is only asked once per tool,
+ * along with the vein mining permission checked on every ore swing.
+ * Decisions are dropped when the player joins, quits or changes world, when the plugin is reloaded, and
+ * after a short time to pick up permission changes made while the player is online.
+ */
+
+package jodelle.powermining.lib;
+
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.Permission;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+public class PermissionCache {
+
+    public enum Action {
+        CRAFT,
+        USE,
+        ENCHANT
+    }
+
+    private static final byte UNKNOWN = 0;
+    private static final byte ALLOWED = 1;
+    private static final byte DENIED = 2;
+
+    private static final String VEIN_MINING = "powermining.veinmining";
+
+    private static final int TYPES = PowerToolType.values().length;
+
+    private final HashMap<UUID, Entry> players = new HashMap<>();
+    private long expireMillis;
+
+    private static final class Entry {
+        private final byte[] decisions = new byte[Action.values().length * TYPES];
+        private byte veinMining = UNKNOWN;
+        private final long expires;
+
+        private Entry(final long expires) {
+            this.expires = expires;
+        }
+    }
+
+    /**
+     * @param expireSeconds How long the decisions of a player are kept
+     */
+    public PermissionCache(final int expireSeconds) {
+        this.expireMillis = expireSeconds * 1000L;
+    }
+
+    /**
+     * Changes how long the decisions are kept, used when the config is reloaded
+     * @param expireSeconds How long the decisions of a player are kept
+     */
+    public void setExpireSeconds(final int expireSeconds) {
+        this.expireMillis = expireSeconds * 1000L;
+    }
+
+    /**
+     * Checks if the player has the permission for the action with the tool
+     * @param player Player to be checked
+     * @param action Action being performed
+     * @param powerTool PowerTool the action is done with
+     * @return True if the player has the permission
+     */
+    public boolean has(@Nonnull final Player player, @Nonnull final Action action, @Nonnull final PowerToolType powerTool) {
+        final Entry entry = entry(player);
+        final int slot = action.ordinal() * TYPES + powerTool.ordinal();
+        if (entry.decisions[slot] == UNKNOWN) {
+            final Permission permission = powerTool.getPermission(action);
+            if (permission == null) {
+                throw new NoSuchElementException();
+            }
+            entry.decisions[slot] = player.hasPermission(permission) ? ALLOWED : DENIED;
+        }
+
+        return entry.decisions[slot] == ALLOWED;
+    }
+
+    /**
+     * Checks if every Hammer of the player mines whole ore veins
+     * @param player Player to be checked
+     * @return True if the player has the vein mining permission
+     */
+    public boolean canVeinMine(@Nonnull final Player player) {
+        final Entry entry = entry(player);
+        if (entry.veinMining == UNKNOWN) {
+            entry.veinMining = player.hasPermission(VEIN_MINING) ? ALLOWED : DENIED;
+        }
+        return entry.veinMining == ALLOWED;
+    }
+
+    /**
+     * @param player Player to be checked
+     * @return Decisions of the player, new ones if they expired
+     */
+    @Nonnull
+    private Entry entry(@Nonnull final Player player) {
+        final long now = System.currentTimeMillis();
+        final UUID playerId = player.getUniqueId();
+
+        Entry entry = players.get(playerId);
+        if (entry == null || entry.expires < now) {
+            entry = new Entry(now + expireMillis);
+            players.put(playerId, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Forgets the decisions of the player
+     * @param playerId Id of the player
+     */
+    public void invalidate(@Nonnull final UUID playerId) {
+        players.remove(playerId);
+    }
+
+    /**
+     * Forgets the decisions of every player
+     */
+    public void clear() {
+        players.clear();
+    }
+}
@@ -0,0 +1,698 @@
+/*
+ * Immutable snapshot of everything read from the config file. The plugin publishes one snapshot at a time
+ * through a single volatile reference, so a reload builds a whole new snapshot off the main thread and swaps
+ * it in at once. Listeners, jobs and planner workers read the current snapshot without any locking.
+ */
+
+package jodelle.powermining.lib;
+
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+public final class PluginConfig {
+    private final boolean useDurabilityPerBlock;
+    private final boolean deferPhysics;
+    private final boolean breakEffects;
+    private final int radius;
+    private final int depth;
+    // Indexed by PowerToolType ordinal
+    private final AreaTemplate[] shapes;
+    private final RuleMatrix rules;
+    private final int veinMaxBlocks;
+    private final boolean[] veinTools;
+
+    private final DropMode dropMode;
+    private final boolean[] voidDrops;
+    private final boolean hasVoidDrops;
+
+    private final int blocksPerTick;
+    private final int maxJobsPerPlayer;
+    private final int maxQueuedBlocks;
+    private final int[] blockWeights;
+    private final int plannerAsyncThreshold;
+    private final int plannerThreads;
+
+    private final int permissionCacheSeconds;
+    private final int protectionCacheSeconds;
+    private final int protectionCacheSections;
+    private final boolean metricsExport;
+    private final String metricsFile;
+    private final int metricsExportSeconds;
+    private final boolean watchConfig;
+    private final boolean journal;
+    private final String journalFile;
+    private final int journalMaxSizeMB;
+    private final Set<DebuggingMessages.Category> debugCategories;
+    private final String debugFile;
+
+    // Indexed by PowerToolType ordinal, null for the PowerTools without a recipe
+    private final CompiledRecipe[] recipes;
+    private final Map<NamespacedKey, CompiledRecipe> recipeIndex;
+
+    private PluginConfig(@Nonnull final Reader reader) {
+        useDurabilityPerBlock = reader.useDurabilityPerBlock;
+        deferPhysics = reader.deferPhysics;
+        breakEffects = reader.breakEffects;
+        radius = reader.radius;
+        depth = reader.depth;
+        shapes = reader.shapes;
+        rules = reader.rules;
+        veinMaxBlocks = reader.veinMaxBlocks;
+        veinTools = reader.veinTools;
+        dropMode = reader.dropMode;
+        voidDrops = reader.voidDrops;
+        hasVoidDrops = reader.hasVoidDrops;
+        blocksPerTick = reader.blocksPerTick;
+        maxJobsPerPlayer = reader.maxJobsPerPlayer;
+        maxQueuedBlocks = reader.maxQueuedBlocks;
+        blockWeights = reader.blockWeights;
+        plannerAsyncThreshold = reader.plannerAsyncThreshold;
+        plannerThreads = reader.plannerThreads;
+        permissionCacheSeconds = reader.permissionCacheSeconds;
+        protectionCacheSeconds = reader.protectionCacheSeconds;
+        protectionCacheSections = reader.protectionCacheSections;
+        metricsExport = reader.metricsExport;
+        metricsFile = reader.metricsFile;
+        metricsExportSeconds = reader.metricsExportSeconds;
+        watchConfig = reader.watchConfig;
+        journal = reader.journal;
+        journalFile = reader.journalFile;
+        journalMaxSizeMB = reader.journalMaxSizeMB;
+        debugCategories = Collections.unmodifiableSet(reader.debugCategories);
+        debugFile = reader.debugFile;
+        recipes = reader.recipes;
+        recipeIndex = reader.recipeIndex;
+    }
+
+    /**
+     * Reads a whole snapshot from the config. Doesn't touch the server, so it can be called from any thread.
+     * @param plugin Instance of the plugin, used for the recipe keys and to log the problems found in the config
+     * @param config Root of the config file
+     * @return The new snapshot
+     * @throws NumberFormatException If a recipe asks for more items than fit in a stack
+     */
+    @Nonnull
+    public static PluginConfig load(@Nonnull final Plugin plugin, @Nonnull final ConfigurationSection config) {
+        final Reader reader = new Reader(plugin, config);
+        reader.processConfig();
+        reader.processCraftingRecipes();
+        return new PluginConfig(reader);
+    }
+
+    public boolean isUseDurabilityPerBlock() {
+        return useDurabilityPerBlock;
+    }
+
+    /**
+     * @return True if only the outer shell of an area updates the blocks around it
+     */
+    public boolean isDeferPhysics() {
+        return deferPhysics;
+    }
+
+    /**
+     * @return True if the surrounding blocks play their break particles and sound, on the platforms that can
+     */
+    public boolean isBreakEffects() {
+        return breakEffects;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @param powerTool PowerTool being used
+     * @return Shape of the area broken by the PowerTool
+     */
+    @Nonnull
+    public AreaTemplate getShape(@Nonnull final PowerToolType powerTool) {
+        return shapes[powerTool.ordinal()];
+    }
+
+    @Nonnull
+    public RuleMatrix getRules() {
+        return rules;
+    }
+
+    /**
+     * @return Most blocks a vein mining swing can break, 0 when vein mining is disabled
+     */
+    public int getVeinMaxBlocks() {
+        return veinMaxBlocks;
+    }
+
+    /**
+     * @param powerTool PowerTool being used
+     * @return True if the PowerTool always mines whole veins
+     */
+    public boolean isVeinTool(@Nonnull final PowerToolType powerTool) {
+        return veinTools[powerTool.ordinal()];
+    }
+
+    @Nonnull
+    public DropMode getDropMode() {
+        return dropMode;
+    }
+
+    /**
+     * @return True if some drops are thrown away
+     */
+    public boolean hasVoidDrops() {
+        return hasVoidDrops;
+    }
+
+    /**
+     * @param type Type of the dropped item
+     * @return True if the item is thrown away instead of being dropped
+     */
+    public boolean isVoidDrop(@Nonnull final Material type) {
+        return voidDrops[type.ordinal()];
+    }
+
+    public int getBlocksPerTick() {
+        return blocksPerTick;
+    }
+
+    public int getMaxJobsPerPlayer() {
+        return maxJobsPerPlayer;
+    }
+
+    public int getMaxQueuedBlocks() {
+        return maxQueuedBlocks;
+    }
+
+    /**
+     * @return Cost of each block type indexed by Material ordinal. Shared by every reader, it must not be changed.
+     */
+    @Nonnull
+    public int[] getBlockWeights() {
+        return blockWeights;
+    }
+
+    public int getPlannerAsyncThreshold() {
+        return plannerAsyncThreshold;
+    }
+
+    public int getPlannerThreads() {
+        return plannerThreads;
+    }
+
+    public int getPermissionCacheSeconds() {
+        return permissionCacheSeconds;
+    }
+
+    /**
+     * @return How long the protection of a chunk section is kept, 0 if it isn't kept at all
+     */
+    public int getProtectionCacheSeconds() {
+        return protectionCacheSeconds;
+    }
+
+    /**
+     * @return How many chunk sections are kept per player
+     */
+    public int getProtectionCacheSections() {
+        return protectionCacheSections;
+    }
+
+    public boolean isMetricsExport() {
+        return metricsExport;
+    }
+
+    @Nonnull
+    public String getMetricsFile() {
+        return metricsFile;
+    }
+
+    public int getMetricsExportSeconds() {
+        return metricsExportSeconds;
+    }
+
+    public boolean isWatchConfig() {
+        return watchConfig;
+    }
+
+    /**
+     * @return True if every swing is written to the journal used by /jpm rollback
+     */
+    public boolean isJournal() {
+        return journal;
+    }
+
+    @Nonnull
+    public String getJournalFile() {
+        return journalFile;
+    }
+
+    /**
+     * @return Size in megabytes the journal is moved aside at, 0 if it's never moved
+     */
+    public int getJournalMaxSizeMB() {
+        return journalMaxSizeMB;
+    }
+
+    /**
+     * @return Categories of the debugging messages that are written, empty when debugging is off
+     */
+    @Nonnull
+    public Set<DebuggingMessages.Category> getDebugCategories() {
+        return debugCategories;
+    }
+
+    @Nonnull
+    public String getDebugFile() {
+        return debugFile;
+    }
+
+    /**
+     * @param powerTool PowerTool to be crafted
+     * @return Its recipe, null if the config file doesn't have one
+     */
+    @Nullable
+    public CompiledRecipe getRecipe(@Nonnull final PowerToolType powerTool) {
+        return recipes[powerTool.ordinal()];
+    }
+
+    /**
+     * Finds a PowerTool recipe by the key it's registered with
+     * @param key Key of the recipe being crafted
+     * @return The recipe, null if it isn't a PowerTool recipe
+     */
+    @Nullable
+    public CompiledRecipe getRecipe(@Nonnull final NamespacedKey key) {
+        return recipeIndex.get(key);
+    }
+
+    /**
+     * @param other Snapshot to compare with
+     * @return True if both snapshots have the same recipes, so the registered ones can be kept
+     */
+    public boolean sameRecipes(@Nonnull final PluginConfig other) {
+        return recipeIndex.equals(other.recipeIndex);
+    }
+
+    /**
+     * Mutable state used while a snapshot is being read
+     */
+    private static final class Reader {
+        private final Plugin plugin;
+        private final ConfigurationSection config;
+        private final Logger logger;
+
+        private boolean useDurabilityPerBlock;
+        private boolean deferPhysics = false;
+        private boolean breakEffects = false;
+        private int radius;
+        private int depth;
+        private final AreaTemplate[] shapes = new AreaTemplate[PowerToolType.values().length];
+        private RuleMatrix rules;
+        private int veinMaxBlocks = 0;
+        private final boolean[] veinTools = new boolean[PowerToolType.values().length];
+        private DropMode dropMode = DropMode.NATURAL;
+        private final boolean[] voidDrops = new boolean[Material.values().length];
+        private boolean hasVoidDrops = false;
+        private int blocksPerTick = 64;
+        private int maxJobsPerPlayer = 4;
+        private int maxQueuedBlocks = 4096;
+        private final int[] blockWeights = new int[Material.values().length];
+        private int plannerAsyncThreshold = 125;
+        private int plannerThreads = 2;
+        private int permissionCacheSeconds = 30;
+        private int protectionCacheSeconds = 10;
+        private int protectionCacheSections = 64;
+        private boolean metricsExport = false;
+        private String metricsFile = "metrics.prom";
+        private int metricsExportSeconds = 15;
+        private boolean watchConfig = false;
+        private boolean journal = true;
+        private String journalFile = "journal.bin";
+        private int journalMaxSizeMB = 64;
+        private final EnumSet<DebuggingMessages.Category> debugCategories = EnumSet.noneOf(DebuggingMessages.Category.class);
+        private String debugFile = "debug.log";
+        private final CompiledRecipe[] recipes = new CompiledRecipe[PowerToolType.values().length];
+        private final HashMap<NamespacedKey, CompiledRecipe> recipeIndex = new HashMap<>();
+
+        private Reader(@Nonnull final Plugin plugin, @Nonnull final ConfigurationSection config) {
+            this.plugin = plugin;
+            this.config = config;
+            this.logger = plugin.getLogger();
+            Arrays.fill(blockWeights, 1);
+        }
+
+        /**
+         * Reads the config file and processes it
+         */
+        private void processConfig() {
+            final RuleMatrix.Builder rules = new RuleMatrix.Builder();
+
+            if (config.getBoolean("useVanillaTags")) {
+                rules.seedFromTags();
+            }
+
+            // Only the first entry of a block counts, as it always did
+            final EnumSet<Material> minable = EnumSet.noneOf(Material.class);
+            try {
+                for (Object x : (List<?>) config.getList("Minable")) {
+                    LinkedHashMap<String, ArrayList> l = (LinkedHashMap<String, ArrayList>) x;
+
+                    for (String blockType : l.keySet()) {
+                        if (blockType == null || blockType.isEmpty())
+                            continue;
+
+                        final Material blockMaterial = Material.getMaterial(blockType);
+                        if (blockMaterial == null || !minable.add(blockMaterial))
+                            continue;
+
+                        ArrayList<Material> temp = new ArrayList<>();
+
+                        for (String hammerType : (ArrayList<String>) l.get(blockType)) {
+                            if (hammerType == null || hammerType.isEmpty())
+                                continue;
+
+                            if (hammerType.equals("any"))
+                                temp = null;
+
+                            if (Material.getMaterial(hammerType) == null ||
+                                    (temp != null && temp.contains(Material.getMaterial(hammerType))))
+                                continue;
+
+                            if (temp != null)
+                                temp.add(Material.getMaterial(hammerType));
+                        }
+
+                        rules.mine(blockMaterial, temp);
+                    }
+                }
+            } catch (NullPointerException e) {
+                logger.info("NPE when trying to read the Minable list from the config file, check if it's set correctly!");
+            }
+
+            try {
+                for (String blockType : config.getStringList("Diggable")) {
+                    if (blockType == null || blockType.isEmpty())
+                        continue;
+
+                    if (Material.getMaterial(blockType) != null)
+                        rules.dig(Material.getMaterial(blockType));
+                }
+            } catch (NullPointerException e) {
+                logger.info("NPE when trying to read the Digable list from the config file, check if it's set correctly!");
+            }
+
+            for (Material blockType : Reference.TILLABLE) {
+                rules.till(blockType);
+            }
+            for (Material blockType : Reference.PATHABLE) {
+                rules.path(blockType);
+            }
+
+            this.rules = rules.build();
+
+            useDurabilityPerBlock = config.getBoolean("useDurabilityPerBlock");
+            deferPhysics = config.getBoolean("deferPhysics", deferPhysics);
+            breakEffects = config.getBoolean("breakEffects", breakEffects);
+            radius = config.getInt("Radius");
+            depth = config.getInt("Deep");
+
+            processShapeConfig();
+            processSchedulerConfig();
+            processDropConfig();
+            processVeinMiningConfig();
+
+            permissionCacheSeconds = config.getInt("permissionCacheSeconds", permissionCacheSeconds);
+            protectionCacheSeconds = Math.max(0, config.getInt("ProtectionCache.seconds", protectionCacheSeconds));
+            protectionCacheSections = Math.max(1, config.getInt("ProtectionCache.sections", protectionCacheSections));
+
+            metricsExport = config.getBoolean("Metrics.export", metricsExport);
+            metricsFile = config.getString("Metrics.file", metricsFile);
+            metricsExportSeconds = config.getInt("Metrics.exportSeconds", metricsExportSeconds);
+
+            watchConfig = config.getBoolean("watchConfig", watchConfig);
+
+            journal = config.getBoolean("Journal.enabled", journal);
+            journalFile = config.getString("Journal.file", journalFile);
+            journalMaxSizeMB = Math.max(0, config.getInt("Journal.maxSizeMB", journalMaxSizeMB));
+
+            debugFile = config.getString("Debug.file", debugFile);
+            for (String category : config.getStringList("Debug.categories")) {
+                try {
+                    debugCategories.add(DebuggingMessages.Category.valueOf(category.toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    logger.info("Unknown debugging category " + category + ", ignoring it.");
+                }
+            }
+        }
+
+        /**
+         * Reads how the items of the surrounding blocks are handed out
+         */
+        private void processDropConfig() {
+            final String dropMode = config.getString("dropMode", DropMode.NATURAL.name());
+            try {
+                this.dropMode = DropMode.valueOf(dropMode.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                logger.info("Unknown dropMode " + dropMode + ", using " + DropMode.NATURAL.name() + ".");
+            }
+
+            for (String itemType : config.getStringList("voidDrops")) {
+                final Material material = Material.getMaterial(itemType);
+                if (material == null) {
+                    logger.info("Unknown material " + itemType + " in voidDrops, ignoring it.");
+                    continue;
+                }
+                voidDrops[material.ordinal()] = true;
+                hasVoidDrops = true;
+            }
+        }
+
+        /**
+         * Reads which Hammers mine whole veins and how big a vein can be
+         */
+        private void processVeinMiningConfig() {
+            final ConfigurationSection section = config.getConfigurationSection("VeinMining");
+            if (section == null) {
+                return;
+            }
+
+            veinMaxBlocks = Math.max(0, section.getInt("maxBlocks", veinMaxBlocks));
+            for (String toolName : section.getStringList("tools")) {
+                final PowerToolType powerTool = PowerToolType.forName(toolName);
+                if (powerTool == null || powerTool.getKind() != PowerToolType.Kind.HAMMER) {
+                    logger.info("Unknown Hammer " + toolName + " in the VeinMining tools, ignoring it.");
+                    continue;
+                }
+                veinTools[powerTool.ordinal()] = true;
+            }
+        }
+
+        /**
+         * Reads the shapes of the tiers and of the tools. A tool uses its own shape, then the shape of its tier,
+         * then a cube of Radius and Deep.
+         */
+        private void processShapeConfig() {
+            final AreaTemplate defaultShape = AreaTemplate.of(AreaTemplate.Type.CUBE, radius, depth);
+            Arrays.fill(shapes, defaultShape);
+
+            final ConfigurationSection section = config.getConfigurationSection("Shapes");
+            if (section == null) {
+                return;
+            }
+
+            final AreaTemplate[] tierShapes = new AreaTemplate[PowerToolType.Tier.values().length];
+            final AreaTemplate[] toolShapes = new AreaTemplate[PowerToolType.values().length];
+            for (String name : section.getKeys(false)) {
+                final PowerToolType powerTool = PowerToolType.forName(name);
+                final PowerToolType.Tier tier = powerTool == null ? tierNamed(name) : null;
+                if (powerTool == null && tier == null) {
+                    logger.info("Unknown tier or PowerTool " + name + " in the Shapes, ignoring it.");
+                    continue;
+                }
+
+                final ConfigurationSection shapeSection = section.getConfigurationSection(name);
+                final AreaTemplate shape = shapeSection == null ? null : readShape(name, shapeSection);
+                if (shape == null) {
+                    continue;
+                }
+
+                if (powerTool != null) {
+                    toolShapes[powerTool.ordinal()] = shape;
+                } else {
+                    tierShapes[tier.ordinal()] = shape;
+                }
+            }
+
+            // Worked out once for every tool, so a swing is a single array probe
+            for (PowerToolType powerTool : PowerToolType.values()) {
+                if (toolShapes[powerTool.ordinal()] != null) {
+                    shapes[powerTool.ordinal()] = toolShapes[powerTool.ordinal()];
+                } else if (tierShapes[powerTool.getTier().ordinal()] != null) {
+                    shapes[powerTool.ordinal()] = tierShapes[powerTool.getTier().ordinal()];
+                }
+            }
+        }
+
+        /**
+         * @param name Name of a tier, ex: DIAMOND
+         * @return The tier, null if there is no tier with that name
+         */
+        @Nullable
+        private static PowerToolType.Tier tierNamed(@Nonnull final String name) {
+            try {
+                return PowerToolType.Tier.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Reads a single shape of the Shapes section
+         * @param name Tier or PowerTool the shape belongs to
+         * @param section Section of the shape
+         * @return The shape, null if it can't be used
+         */
+        @Nullable
+        private AreaTemplate readShape(@Nonnull final String name, @Nonnull final ConfigurationSection section) {
+            final String typeName = section.getString("type", AreaTemplate.Type.CUBE.name());
+            final AreaTemplate.Type type;
+            try {
+                type = AreaTemplate.Type.valueOf(typeName.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                logger.info("Unknown shape type " + typeName + " for " + name + ", ignoring it.");
+                return null;
+            }
+
+            if (type != AreaTemplate.Type.MASK) {
+                return AreaTemplate.of(type, Math.max(0, section.getInt("radius", radius)), Math.max(0, section.getInt("depth", depth)));
+            }
+
+            // A single layer can be written as a plain list of rows
+            final List<?> mask = section.getList("mask");
+            final ArrayList<List<String>> layers = new ArrayList<>();
+            if (mask != null && !mask.isEmpty() && mask.get(0) instanceof String) {
+                layers.add(section.getStringList("mask"));
+            } else if (mask != null) {
+                for (Object layer : mask) {
+                    final ArrayList<String> rows = new ArrayList<>();
+                    if (layer instanceof List) {
+                        for (Object row : (List<?>) layer) {
+                            rows.add(String.valueOf(row));
+                        }
+                    }
+                    layers.add(rows);
+                }
+            }
+
+            final AreaTemplate shape = AreaTemplate.mask(layers);
+            if (shape == null) {
+                logger.info("The mask of " + name + " doesn't mark any block with X, ignoring it.");
+            }
+            return shape;
+        }
+
+        /**
+         * Reads the limits used by the BreakScheduler and the AreaPlanner
+         */
+        private void processSchedulerConfig() {
+            final ConfigurationSection planner = config.getConfigurationSection("Planner");
+            if (planner != null) {
+                plannerAsyncThreshold = planner.getInt("asyncThreshold", plannerAsyncThreshold);
+                plannerThreads = Math.max(1, planner.getInt("threads", plannerThreads));
+            }
+
+            final ConfigurationSection section = config.getConfigurationSection("Scheduler");
+            if (section == null) {
+                return;
+            }
+
+            blocksPerTick = Math.max(1, section.getInt("blocksPerTick", blocksPerTick));
+            maxJobsPerPlayer = Math.max(1, section.getInt("maxJobsPerPlayer", maxJobsPerPlayer));
+            maxQueuedBlocks = Math.max(1, section.getInt("maxQueuedBlocks", maxQueuedBlocks));
+
+            final ConfigurationSection weights = section.getConfigurationSection("weights");
+            if (weights == null) {
+                return;
+            }
+
+            for (String blockType : weights.getKeys(false)) {
+                final Material material = Material.getMaterial(blockType);
+                if (material == null) {
+                    logger.info("Unknown material " + blockType + " in the Scheduler weights, ignoring it.");
+                    continue;
+                }
+                blockWeights[material.ordinal()] = Math.max(1, weights.getInt(blockType, 1));
+            }
+        }
+
+        /**
+         * Processes each recipe of the config file and stores it by PowerTool and by key
+         */
+        private void processCraftingRecipes() {
+            final List<?> recipes = config.getList("Recipes");
+            if (recipes == null) {
+                logger.info("No Recipes found in the config file, no PowerTool can be crafted!");
+                return;
+            }
+
+            // Each element is a map with the name of the powertool, ex: DIAMOND_HAMMER, and its 9 slots
+            for (Object x : recipes) {
+                LinkedHashMap<String, ArrayList> l = (LinkedHashMap<String, ArrayList>) x;
+                for (String toolName : l.keySet()) {
+                    // When an element is null signifies an empty slot in the crafting table
+                    ItemStack[] craftingRecipe = new ItemStack[9];
+                    int i = 0;
+                    for (String material : (ArrayList<String>) l.get(toolName)) {
+                        // EMPTY means that the slot is empty, obviously
+                        if (material.equals("EMPTY")) {
+                            craftingRecipe[i] = null;
+                            i++;
+                            continue;
+                        }
+                        // The material and the quantity are separated by '*'
+                        int separator = material.indexOf('*');
+                        Material materialName = Material.getMaterial(material.substring(0, separator));
+
+                        int quantity = Integer.parseInt(material.substring(separator + 1));
+                        ItemStack itemStack = new ItemStack(materialName, quantity);
+                        if (quantity > itemStack.getMaxStackSize()){
+                            throw new NumberFormatException("A full stack of " + material + " can only contain " + itemStack.getMaxStackSize());
+                        }
+                        craftingRecipe[i] = itemStack;
+                        i++;
+                    }
+
+                    final PowerToolType powerTool = PowerToolType.forName(toolName);
+                    if (powerTool == null) {
+                        continue;
+                    }
+
+                    // Same key the recipe is registered with, so the crafting listeners find it without any lookup by name
+                    final NamespacedKey key = new NamespacedKey(plugin, toolName);
+                    final CompiledRecipe recipe = new CompiledRecipe(key, powerTool, craftingRecipe);
+                    this.recipes[powerTool.ordinal()] = recipe;
+                    recipeIndex.put(key, recipe);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Remembers the PowerTool each player is holding so the hot listeners don't have to clone the ItemMeta
+ * on every event. An entry is only reused while the held item is still similar to the one it was decoded from.
+ */
+
+package jodelle.powermining.lib;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.UUID;
+
+public class PowerToolCache {
+    private final HashMap<UUID, Entry> heldItems = new HashMap<>();
+
+    private static final class Entry {
+        private final ItemStack item;
+        private final PowerToolType powerTool;
+
+        private Entry(@Nonnull final ItemStack item, @Nullable final PowerToolType powerTool) {
+            this.item = item;
+            this.powerTool = powerTool;
+        }
+    }
+
+    /**
+     * Classifies the item held by the player. While the player keeps holding a similar stack, same type and
+     * same meta, the cached result is returned, otherwise the item is decoded again.
+     * @param player Player holding the item
+     * @param item Item in the player's hand
+     * @return The PowerTool, or null if the item is not a PowerTool
+     */
+    @Nullable
+    public PowerToolType get(@Nonnull final Player player, @Nonnull final ItemStack item) {
+        final UUID playerId = player.getUniqueId();
+        final Entry entry = heldItems.get(playerId);
+
+        if (entry != null && entry.item.isSimilar(item)) {
+            return entry.powerTool;
+        }
+
+        final PowerToolType powerTool = PowerToolType.decode(item);
+        heldItems.put(playerId, new Entry(item, powerTool));
+        return powerTool;
+    }
+
+    /**
+     * Forgets the item held by the player
+     * @param playerId Id of the player
+     */
+    public void invalidate(@Nonnull final UUID playerId) {
+        heldItems.remove(playerId);
+    }
+
+    public void clear() {
+        heldItems.clear();
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Registry of the PowerTools. Each PowerTool is a constant holding its kind, its tier, the vanilla tool it's made of
+ * and its permissions, and it's found by name, by base item or from the item itself without scanning any list.
+ * What comes from the config file, like the recipe and the shape, is kept by PluginConfig in arrays indexed by ordinal.
+ */
+
+package jodelle.powermining.lib;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.permissions.Permission;
+import org.bukkit.persistence.PersistentDataType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+
+public enum PowerToolType {
+    WOODEN_HAMMER(Kind.HAMMER, Tier.WOODEN, Material.WOODEN_PICKAXE),
+    STONE_HAMMER(Kind.HAMMER, Tier.STONE, Material.STONE_PICKAXE),
+    IRON_HAMMER(Kind.HAMMER, Tier.IRON, Material.IRON_PICKAXE),
+    GOLDEN_HAMMER(Kind.HAMMER, Tier.GOLDEN, Material.GOLDEN_PICKAXE),
+    DIAMOND_HAMMER(Kind.HAMMER, Tier.DIAMOND, Material.DIAMOND_PICKAXE),
+    NETHERITE_HAMMER(Kind.HAMMER, Tier.NETHERITE, Material.NETHERITE_PICKAXE),
+
+    WOODEN_EXCAVATOR(Kind.EXCAVATOR, Tier.WOODEN, Material.WOODEN_SHOVEL),
+    STONE_EXCAVATOR(Kind.EXCAVATOR, Tier.STONE, Material.STONE_SHOVEL),
+    IRON_EXCAVATOR(Kind.EXCAVATOR, Tier.IRON, Material.IRON_SHOVEL),
+    GOLDEN_EXCAVATOR(Kind.EXCAVATOR, Tier.GOLDEN, Material.GOLDEN_SHOVEL),
+    DIAMOND_EXCAVATOR(Kind.EXCAVATOR, Tier.DIAMOND, Material.DIAMOND_SHOVEL),
+    NETHERITE_EXCAVATOR(Kind.EXCAVATOR, Tier.NETHERITE, Material.NETHERITE_SHOVEL),
+
+    WOODEN_PLOW(Kind.PLOW, Tier.WOODEN, Material.WOODEN_HOE),
+    STONE_PLOW(Kind.PLOW, Tier.STONE, Material.STONE_HOE),
+    IRON_PLOW(Kind.PLOW, Tier.IRON, Material.IRON_HOE),
+    GOLDEN_PLOW(Kind.PLOW, Tier.GOLDEN, Material.GOLDEN_HOE),
+    DIAMOND_PLOW(Kind.PLOW, Tier.DIAMOND, Material.DIAMOND_HOE),
+    NETHERITE_PLOW(Kind.PLOW, Tier.NETHERITE, Material.NETHERITE_HOE);
+
+    public enum Kind {
+        HAMMER,
+        EXCAVATOR,
+        PLOW
+    }
+
+    public enum Tier {
+        WOODEN(0),
+        STONE(1),
+        IRON(2),
+        // Golden tools mine like wooden ones
+        GOLDEN(0),
+        DIAMOND(3),
+        NETHERITE(4);
+
+        private final int miningLevel;
+
+        Tier(final int miningLevel) {
+            this.miningLevel = miningLevel;
+        }
+
+        /**
+         * @return Mining level of the vanilla tools of the tier, as used by the NEEDS_*_TOOL tags
+         */
+        public int getMiningLevel() {
+            return miningLevel;
+        }
+    }
+
+    private static final HashMap<String, PowerToolType> BY_NAME = new HashMap<>();
+    // Indexed by Material ordinal, null for the items that aren't the base of a PowerTool
+    private static final PowerToolType[] BY_MATERIAL = new PowerToolType[Material.values().length];
+    private static final EnumMap<Kind, List<PowerToolType>> BY_KIND = new EnumMap<>(Kind.class);
+
+    static {
+        for (Kind kind : Kind.values()) {
+            BY_KIND.put(kind, new ArrayList<>());
+        }
+        for (PowerToolType type : values()) {
+            BY_NAME.put(type.name(), type);
+            BY_MATERIAL[type.baseMaterial.ordinal()] = type;
+            BY_KIND.get(type.kind).add(type);
+        }
+        for (Kind kind : Kind.values()) {
+            BY_KIND.put(kind, Collections.unmodifiableList(BY_KIND.get(kind)));
+        }
+    }
+
+    private final Kind kind;
+    private final Tier tier;
+    private final Material baseMaterial;
+    // Indexed by PermissionCache.Action ordinal, filled in when the plugin is enabled
+    private final Permission[] permissions = new Permission[PermissionCache.Action.values().length];
+
+    PowerToolType(@Nonnull final Kind kind, @Nonnull final Tier tier, @Nonnull final Material baseMaterial) {
+        this.kind = kind;
+        this.tier = tier;
+        this.baseMaterial = baseMaterial;
+    }
+
+    /**
+     * Reads the PowerTool stored in the item. Items without any meta are rejected without cloning it.
+     * @param item Item to be decoded
+     * @return The PowerTool, or null if the item is not a PowerTool
+     */
+    @Nullable
+    public static PowerToolType decode(@Nonnull final ItemStack item) {
+        if (!item.hasItemMeta()) {
+            return null;
+        }
+
+        final ItemMeta itemMeta = item.getItemMeta();
+        if (itemMeta == null) {
+            return null;
+        }
+
+        final String powerToolName = itemMeta.getPersistentDataContainer().get(Reference.POWER_TOOL_KEY, PersistentDataType.STRING);
+        return powerToolName == null ? null : forName(powerToolName);
+    }
+
+    /**
+     * @param powerToolName Name of the PowerTool. Ex: DIAMOND_HAMMER
+     * @return The PowerTool, or null if there is no PowerTool with that name
+     */
+    @Nullable
+    public static PowerToolType forName(@Nonnull final String powerToolName) {
+        return BY_NAME.get(powerToolName);
+    }
+
+    /**
+     * @param baseMaterial Vanilla tool. Ex: DIAMOND_PICKAXE
+     * @return The PowerTool made of it, or null if it isn't the base of any PowerTool
+     */
+    @Nullable
+    public static PowerToolType forBaseMaterial(@Nonnull final Material baseMaterial) {
+        return BY_MATERIAL[baseMaterial.ordinal()];
+    }
+
+    /**
+     * @param kind Kind of PowerTool
+     * @return The PowerTools of that kind, from wooden to netherite
+     */
+    @Nonnull
+    public static List<PowerToolType> ofKind(@Nonnull final Kind kind) {
+        return BY_KIND.get(kind);
+    }
+
+    @Nonnull
+    public Kind getKind() {
+        return kind;
+    }
+
+    @Nonnull
+    public Tier getTier() {
+        return tier;
+    }
+
+    @Nonnull
+    public Material getBaseMaterial() {
+        return baseMaterial;
+    }
+
+    /**
+     * @param action Action done with the PowerTool
+     * @return Name of the permission. Ex: powermining.craft.hammer.diamond
+     */
+    @Nonnull
+    public String getPermissionName(@Nonnull final PermissionCache.Action action) {
+        return "powermining." + action.name().toLowerCase() + "." + kind.name().toLowerCase() + "." + tier.name().toLowerCase();
+    }
+
+    /**
+     * @param action Action done with the PowerTool
+     * @return The permission, null until the plugin registered it
+     */
+    @Nullable
+    public Permission getPermission(@Nonnull final PermissionCache.Action action) {
+        return permissions[action.ordinal()];
+    }
+
+    /**
+     * Keeps the permission registered for the action, done once when the plugin is enabled
+     * @param action Action done with the PowerTool
+     * @param permission Registered permission
+     */
+    public void setPermission(@Nonnull final PermissionCache.Action action, @Nonnull final Permission permission) {
+        permissions[action.ordinal()] = permission;
+    }
+}
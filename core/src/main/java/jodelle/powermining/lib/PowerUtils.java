@@ -0,0 +1,387 @@
+/*
+ * This piece of software is part of the PowerMining Bukkit Plugin
+ * Author: BloodyShade (dev.bukkit.org/profiles/bloodyshade)
+ *
+ * Licensed under the LGPL v3
+ * Further information please refer to the included lgpl-3.0.txt or the gnu website (http://www.gnu.org/licenses/lgpl)
+ */
+
+package jodelle.powermining.lib;
+
+import jodelle.powermining.PowerMining;
+import org.bukkit.*;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerItemBreakEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.util.RayTraceResult;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class PowerUtils {
+    // A bit more than the reach of a player in creative mode
+    private static final double BREAK_REACH = 6.0;
+
+    public PowerUtils() {
+    }
+
+    /**
+     * This method validates if the item is a PowerTool
+     * It checks the PersistantDataContainer of the item for a key
+     * set specifically for the PowerTools
+     * @param item The item to test
+     * @return True if the item is a PowerTool
+     */
+    public static boolean isPowerTool(@Nonnull ItemStack item) {
+        return PowerToolType.decode(item) != null;
+    }
+
+    /**
+     * Reduces the durability of a tool
+     * @param player Player who used the tool
+     * @param item Item used by the player
+     */
+    public static void reduceDurability(@Nonnull Player player, @Nonnull ItemStack item){
+        reduceDurability(player, item, 1);
+    }
+
+    /**
+     * Reduces the durability of the tool in the player's hand once for several uses
+     * @param player Player who used the tool
+     * @param item Item used by the player
+     * @param uses How many times the tool was used
+     */
+    public static void reduceDurability(@Nonnull Player player, @Nonnull ItemStack item, int uses){
+        reduceDurability(player, item, uses, player.getInventory().getHeldItemSlot());
+    }
+
+    /**
+     * Reduces the durability of a tool once for several uses, writing the ItemMeta a single time.
+     * If the tool runs out of durability it is broken, like a vanilla tool.
+     * @param player Player who used the tool
+     * @param item Item used by the player
+     * @param uses How many times the tool was used
+     * @param slot Inventory slot the tool was used from, emptied if the tool breaks
+     */
+    public static void reduceDurability(@Nonnull Player player, @Nonnull ItemStack item, int uses, int slot){
+        if (uses <= 0) {
+            return;
+        }
+
+        ItemMeta itemMeta = item.getItemMeta();
+
+        if (!(itemMeta instanceof Damageable) || itemMeta.isUnbreakable()){
+            return;
+        }
+
+        // With Unbreaking each use only has a chance of 1 in (level + 1) of damaging the tool
+        int unbreakingLevel = itemMeta.getEnchantLevel(Enchantment.DURABILITY);
+        int damage = unbreakingLevel > 0 ? damagingUses(uses, 1.0 / (unbreakingLevel + 1)) : uses;
+        if (damage == 0) {
+            return;
+        }
+
+        Damageable damageable = (Damageable) itemMeta;
+
+        //increasing the damage by one reduces the durability by one
+        int newDamage = damageable.getDamage() + damage;
+
+        /*Reducing the durability doesn't cause the item to be broken when it gets to zero.
+        * That said, it is needed to implement this behavior manually, instead of writing the damage
+        * the item is removed from the player inventory and a breaking sound is played*/
+        PowerMining.getInstance().getMetrics().durabilityWrites.inc();
+        if (newDamage >= item.getType().getMaxDurability()){
+            breakTool(player, item, slot);
+            return;
+        }
+
+        damageable.setDamage(newDamage);
+        item.setItemMeta(itemMeta);
+    }
+
+    /**
+     * Returns how many more times the tool can be used before breaking, ignoring Unbreaking
+     * @param item Tool to check
+     * @return Remaining durability, Integer.MAX_VALUE if the item doesn't lose durability
+     */
+    public static int getRemainingDurability(@Nonnull ItemStack item) {
+        final short maxDurability = item.getType().getMaxDurability();
+        if (maxDurability <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        if (!item.hasItemMeta()) {
+            return maxDurability;
+        }
+
+        final ItemMeta itemMeta = item.getItemMeta();
+        if (!(itemMeta instanceof Damageable) || itemMeta.isUnbreakable()) {
+            return Integer.MAX_VALUE;
+        }
+        return Math.max(0, maxDurability - ((Damageable) itemMeta).getDamage());
+    }
+
+    /**
+     * Draws how many of the uses actually damage the tool, a binomial distribution, with a single random number
+     * @param uses How many times the tool was used
+     * @param chance Chance of each use damaging the tool
+     * @return Number of uses that damage the tool
+     */
+    private static int damagingUses(int uses, double chance) {
+        final Random rand = ThreadLocalRandom.current();
+
+        // Past this point the probabilities underflow, but the normal approximation is already accurate
+        if (uses > 512) {
+            final double mean = uses * chance;
+            final double deviation = Math.sqrt(mean * (1 - chance));
+            final long damage = Math.round(mean + deviation * rand.nextGaussian());
+            return (int) Math.max(0, Math.min(uses, damage));
+        }
+
+        // Walks the cumulative distribution until it passes the random number
+        final double ratio = chance / (1 - chance);
+        final double target = rand.nextDouble();
+        double probability = Math.pow(1 - chance, uses);
+        double cumulative = probability;
+        int damage = 0;
+        while (cumulative < target && damage < uses) {
+            probability *= ratio * (uses - damage) / (damage + 1);
+            damage++;
+            cumulative += probability;
+        }
+        return damage;
+    }
+
+    /**
+     * Removes the tool from the player and plays the breaking sound
+     * @param player Player who used the tool
+     * @param item Tool to be broken
+     * @param slot Inventory slot the tool was used from
+     */
+    private static void breakTool(@Nonnull Player player, @Nonnull ItemStack item, int slot) {
+        Bukkit.getPluginManager().callEvent(new PlayerItemBreakEvent(player, item));
+
+        // Only the slot the tool was used from is emptied, an identical tool elsewhere in the inventory is left alone.
+        // If the tool was moved out of it in the meantime there is nothing to remove.
+        PlayerInventory inventory = player.getInventory();
+        ItemStack current = inventory.getItem(slot);
+        if (current == item || item.equals(current)) {
+            inventory.setItem(slot, null);
+        }
+
+        Location loc = player.getEyeLocation();
+        World world = loc.getWorld();
+        if (world != null) {
+            world.playSound(loc, Sound.ENTITY_ITEM_BREAK, 1.0F, 1.0F);
+        }
+    }
+
+
+    /**
+     * Returns if the block is present on the minable list
+     * @param blockType Block to be verified
+     * @return True if the block is minable
+     */
+    public static boolean isMineable(@Nonnull Material blockType) {
+        return PowerMining.getInstance().getPluginConfig().getRules().isMinable(blockType);
+    }
+
+    /**
+     * Returns if the block is present on the digable list
+     * @param blockType Block to be verified
+     * @return True if the block is digable
+     */
+    public static boolean isDigable(@Nonnull Material blockType) {
+        return PowerMining.getInstance().getPluginConfig().getRules().isDiggable(blockType);
+    }
+
+    /**
+     * Returns if the block is present on the tillable list
+     * @param blockType Block to be verified
+     * @return True if the block is tillable
+     */
+    public static boolean isTillable(@Nonnull Material blockType) {
+        return PowerMining.getInstance().getPluginConfig().getRules().isTillable(blockType);
+    }
+
+    /**
+     * Returns if the block is present on the pathable list
+     * @param blockType Block to be verified
+     * @return True if the block is pathable
+     */
+    public static boolean isPathable(@Nonnull Material blockType) {
+        return PowerMining.getInstance().getPluginConfig().getRules().isPathable(blockType);
+    }
+
+    /**
+     * Works out the face of the block the player is breaking, by tracing the player's line of sight
+     * @param player Player breaking the block
+     * @param block Block being broken
+     * @return Face of the block turned to the player
+     */
+    @Nonnull
+    public static BlockFace getBreakFace(@Nonnull Player player, @Nonnull Block block) {
+        final Location eye = player.getEyeLocation();
+        final RayTraceResult result = block.getWorld().rayTraceBlocks(eye, eye.getDirection(), BREAK_REACH, FluidCollisionMode.NEVER, true);
+
+        if (result != null && block.equals(result.getHitBlock()) && result.getHitBlockFace() != null) {
+            return result.getHitBlockFace();
+        }
+
+        // The player isn't looking at the block anymore, use the side of the block the eye is on
+        final double dx = eye.getX() - (block.getX() + 0.5);
+        final double dy = eye.getY() - (block.getY() + 0.5);
+        final double dz = eye.getZ() - (block.getZ() + 0.5);
+
+        if (Math.abs(dy) >= Math.abs(dx) && Math.abs(dy) >= Math.abs(dz)) {
+            return dy > 0 ? BlockFace.UP : BlockFace.DOWN;
+        }
+        if (Math.abs(dx) >= Math.abs(dz)) {
+            return dx > 0 ? BlockFace.EAST : BlockFace.WEST;
+        }
+        return dz > 0 ? BlockFace.SOUTH : BlockFace.NORTH;
+    }
+
+    /**
+     * Returns a lif of the surrounding blocks given a block face, a target block, a radius and a depth.
+     * Prefer walking AreaShape.box directly, it doesn't create a Block for every position.
+     * @param blockFace Face of the block where the player clicked
+     * @param targetBlock Block broke by the player
+     * @param radius Radius of the hole
+     * @param depth Depth of the hole
+     * @return Array containing all the blocks surrounding the target block
+     */
+    @Nonnull
+    public static ArrayList<Block> getSurroundingBlocks(@Nonnull BlockFace blockFace, @Nonnull Block targetBlock, @Nonnull Integer radius, @Nonnull Integer depth) {
+        return toBlocks(AreaShape.box(blockFace, radius, depth), targetBlock);
+    }
+
+    /**
+     * Returns a list of the blocks surrounding the target block on the same level, used by the Plows
+     * @param blockFace Face of the block where the player clicked
+     * @param targetBlock Block clicked by the player
+     * @param radius Radius of the area
+     * @return Array containing all the blocks surrounding the target block
+     */
+    @Nonnull
+    public static ArrayList<Block> getSurroundingBlocksFarm(BlockFace blockFace, Block targetBlock, Integer radius) {
+        return toBlocks(AreaShape.farm(blockFace, radius), targetBlock);
+    }
+
+    @Nonnull
+    private static ArrayList<Block> toBlocks(@Nonnull AreaShape shape, @Nonnull Block targetBlock) {
+        final ArrayList<Block> blocks = new ArrayList<>(shape.size());
+        final World world = targetBlock.getWorld();
+        shape.forEach(targetBlock.getX(), targetBlock.getY(), targetBlock.getZ(), (x, y, z) -> blocks.add(world.getBlockAt(x, y, z)));
+        return blocks;
+    }
+
+    /**
+     * Checks if the player has permission to craft the PowerTool
+     * @param player Player who used the tool
+     * @param powerTool PowerTool used by the player
+     * @return True if the player has permission to craft the PowerTool
+     */
+    public static boolean checkCraftPermission(@Nonnull Player player, @Nonnull PowerToolType powerTool) {
+        PowerMining.getInstance().getMetrics().permissionChecks.inc();
+        if (PowerMining.getInstance().getPermissionCache().has(player, PermissionCache.Action.CRAFT, powerTool)){
+            return true;
+        }
+
+        player.sendMessage(ChatColor.RED + "[JodellePowerMining] - You don't have permissions to craft this PowerTool");
+        return false;
+    }
+
+    /**
+     * Checks if the player has permission to use the PowerTool
+     * @param player Player who used the tool
+     * @param powerTool PowerTool used by the player
+     * @return True if the player has permission to use the PowerTool
+     */
+    public static boolean checkUsePermission(@Nonnull Player player, @Nonnull PowerToolType powerTool) {
+        PowerMining.getInstance().getMetrics().permissionChecks.inc();
+        if (PowerMining.getInstance().getPermissionCache().has(player, PermissionCache.Action.USE, powerTool)){
+            return true;
+        }
+
+        player.sendMessage(ChatColor.RED + "[JodellePowerMining] - You don't have permissions to use this PowerTool");
+        return false;
+    }
+
+    /**
+     * Checks if the player has permission to enchant the PowerTool
+     * @param player Player who used the tool
+     * @param powerTool PowerTool used by the player
+     * @return True if the player has permission to enchant the PowerTool
+     */
+    public static boolean checkEnchantPermission(@Nonnull Player player, @Nonnull PowerToolType powerTool) {
+        PowerMining.getInstance().getMetrics().permissionChecks.inc();
+        if (PowerMining.getInstance().getPermissionCache().has(player, PermissionCache.Action.ENCHANT, powerTool)){
+            return true;
+        }
+
+        player.sendMessage(ChatColor.RED + "[JodellePowerMining] - You don't have permissions to enchant this PowerTool");
+
+        return false;
+    }
+
+    /**
+     * Checks if the player is allowed to destroy the target block
+     * @param plugin Instance of the plugin
+     * @param player Player who broke the block
+     * @param block Block broken
+     * @return True if the player is allowed to destroy the block
+     */
+    public static boolean canBreak(@Nonnull PowerMining plugin, @Nonnull Player player, @Nonnull Block block) {
+        return AreaProtection.resolve(plugin, player, Collections.singletonList(block)).canBreak(block);
+    }
+
+    /**
+     * Returns if the tool is a valid Hammer against certain block
+     * @param hammerType Type of the tool
+     * @param blockType Type of the block to be used on
+     * @return True if the Hammer is valid
+     */
+    public static boolean validateHammer(@Nonnull Material hammerType, @Nonnull Material blockType) {
+        return PowerMining.getInstance().getPluginConfig().getRules().canMine(hammerType, blockType);
+    }
+
+    /**
+     * Returns if the tool is a valid Excavator against certain block
+     * @param excavatorType Type of the tool
+     * @param blockType Type of the block to be used on
+     * @return True if the Excavator is valid
+     */
+    public static boolean validateExcavator(@Nonnull Material excavatorType, @Nonnull Material blockType) {
+        return PowerMining.getInstance().getPluginConfig().getRules().canDig(excavatorType, blockType);
+    }
+
+    /**
+     * Returns if the tool is a valid Plow against certain block
+     * @param plowType Type of the tool
+     * @param blockType Type of the block to be used on
+     * @return True if the Plow is valid
+     */
+    public static boolean validatePlow(@Nonnull Material plowType, @Nonnull Material blockType) {
+        return PowerMining.getInstance().getPluginConfig().getRules().canTill(plowType, blockType);
+    }
+
+    /**
+     * Returns if the tool is a valid Excavator against certain block
+     * @param excavatorType Type of the tool
+     * @param blockType Type of the block to be used on
+     * @return True if the Excavator is valid
+     */
+    public static boolean validatePath(@Nonnull Material excavatorType, @Nonnull Material blockType) {
+        return PowerMining.getInstance().getPluginConfig().getRules().canPath(excavatorType, blockType);
+    }
+}
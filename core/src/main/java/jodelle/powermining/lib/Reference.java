@@ -0,0 +1,35 @@
+/*
+ * This piece of software is part of the PowerMining Bukkit Plugin
+ * Author: BloodyShade (dev.bukkit.org/profiles/bloodyshade)
+ *
+ * Licensed under the LGPL v3
+ * Further information please refer to the included lgpl-3.0.txt or the gnu website (http://www.gnu.org/licenses/lgpl)
+ */
+
+/*
+ * Keeps a reference to several CONSTs used throughout the code
+ */
+
+package jodelle.powermining.lib;
+
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class Reference {
+
+	// Key of the PersistentDataContainer entry that holds the name of the PowerTool, created once when the plugin is enabled
+	public static NamespacedKey POWER_TOOL_KEY;
+
+	public static ArrayList<Material> TILLABLE = new ArrayList<>(Arrays.asList(
+			Material.GRASS_BLOCK,
+			Material.DIRT
+	));
+
+	public static ArrayList<Material> PATHABLE = new ArrayList<>(Collections.singletonList(
+			Material.GRASS_BLOCK
+	));
+}
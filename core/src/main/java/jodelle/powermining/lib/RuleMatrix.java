@@ -0,0 +1,190 @@
+/*
+ * Immutable table of which tools can be used on which blocks, compiled once from the config file.
+ * Every lookup is an array probe indexed by Material.ordinal(), so checking a (tool, block) pair
+ * costs the same no matter how many blocks are configured.
+ */
+
+package jodelle.powermining.lib;
+
+import org.bukkit.Material;
+import org.bukkit.Tag;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collection;
+
+public final class RuleMatrix {
+    private static final int ANY_TOOL = -1;
+
+    private final Rule mine;
+    private final Rule dig;
+    private final Rule till;
+    private final Rule path;
+
+    private RuleMatrix(@Nonnull final Builder builder) {
+        mine = new Rule(PowerToolType.Kind.HAMMER, builder.mine);
+        dig = new Rule(PowerToolType.Kind.EXCAVATOR, builder.dig);
+        till = new Rule(PowerToolType.Kind.PLOW, builder.till);
+        path = new Rule(PowerToolType.Kind.EXCAVATOR, builder.path);
+    }
+
+    public boolean isMinable(@Nonnull final Material blockType) {
+        return mine.accepts(blockType);
+    }
+
+    public boolean isDiggable(@Nonnull final Material blockType) {
+        return dig.accepts(blockType);
+    }
+
+    public boolean isTillable(@Nonnull final Material blockType) {
+        return till.accepts(blockType);
+    }
+
+    public boolean isPathable(@Nonnull final Material blockType) {
+        return path.accepts(blockType);
+    }
+
+    public boolean canMine(@Nonnull final Material toolType, @Nonnull final Material blockType) {
+        return mine.test(toolType, blockType);
+    }
+
+    public boolean canDig(@Nonnull final Material toolType, @Nonnull final Material blockType) {
+        return dig.test(toolType, blockType);
+    }
+
+    public boolean canTill(@Nonnull final Material toolType, @Nonnull final Material blockType) {
+        return till.test(toolType, blockType);
+    }
+
+    public boolean canPath(@Nonnull final Material toolType, @Nonnull final Material blockType) {
+        return path.test(toolType, blockType);
+    }
+
+    /**
+     * Tools of one kind (pickaxes, shovels or hoes) against the blocks they may be used on.
+     * Each tool gets the bit of its tier, each block keeps the mask of the tools allowed on it.
+     */
+    private static final class Rule {
+        private final byte[] toolBits;
+        private final int[] blockMasks;
+
+        private Rule(@Nonnull final PowerToolType.Kind kind, @Nonnull final int[] blockMasks) {
+            this.toolBits = new byte[blockMasks.length];
+            this.blockMasks = blockMasks.clone();
+
+            Arrays.fill(toolBits, (byte) -1);
+            for (PowerToolType powerTool : PowerToolType.ofKind(kind)) {
+                toolBits[powerTool.getBaseMaterial().ordinal()] = (byte) powerTool.getTier().ordinal();
+            }
+        }
+
+        private boolean accepts(@Nonnull final Material blockType) {
+            return blockMasks[blockType.ordinal()] != 0;
+        }
+
+        private boolean test(@Nonnull final Material toolType, @Nonnull final Material blockType) {
+            final int bit = toolBits[toolType.ordinal()];
+            return bit >= 0 && (blockMasks[blockType.ordinal()] & (1 << bit)) != 0;
+        }
+    }
+
+    public static final class Builder {
+        private final int[] mine = new int[Material.values().length];
+        private final int[] dig = new int[Material.values().length];
+        private final int[] till = new int[Material.values().length];
+        private final int[] path = new int[Material.values().length];
+
+        /**
+         * Allows the block to be mined by the Hammers
+         * @param blockType Block to be mined
+         * @param pickaxes Pickaxes that are good enough for the block, null if any pickaxe will do
+         * @return This builder
+         */
+        @Nonnull
+        public Builder mine(@Nonnull final Material blockType, @Nullable final Collection<Material> pickaxes) {
+            mine[blockType.ordinal()] = toolMask(PowerToolType.Kind.HAMMER, pickaxes);
+            return this;
+        }
+
+        @Nonnull
+        public Builder dig(@Nonnull final Material blockType) {
+            dig[blockType.ordinal()] = ANY_TOOL;
+            return this;
+        }
+
+        @Nonnull
+        public Builder till(@Nonnull final Material blockType) {
+            till[blockType.ordinal()] = ANY_TOOL;
+            return this;
+        }
+
+        @Nonnull
+        public Builder path(@Nonnull final Material blockType) {
+            path[blockType.ordinal()] = ANY_TOOL;
+            return this;
+        }
+
+        /**
+         * Seeds the Hammer and Excavator rules from the vanilla mineable and tool tier tags.
+         * Entries added afterwards replace the seeded ones.
+         * @return This builder
+         */
+        @Nonnull
+        public Builder seedFromTags() {
+            for (Material blockType : Tag.MINEABLE_PICKAXE.getValues()) {
+                mine[blockType.ordinal()] = tierMask(PowerToolType.Kind.HAMMER, blockType);
+            }
+            for (Material blockType : Tag.MINEABLE_SHOVEL.getValues()) {
+                dig[blockType.ordinal()] = tierMask(PowerToolType.Kind.EXCAVATOR, blockType);
+            }
+            return this;
+        }
+
+        @Nonnull
+        public RuleMatrix build() {
+            return new RuleMatrix(this);
+        }
+
+        private static int toolMask(@Nonnull final PowerToolType.Kind kind, @Nullable final Collection<Material> allowed) {
+            if (allowed == null) {
+                return ANY_TOOL;
+            }
+
+            int mask = 0;
+            for (PowerToolType powerTool : PowerToolType.ofKind(kind)) {
+                if (allowed.contains(powerTool.getBaseMaterial())) {
+                    mask |= 1 << powerTool.getTier().ordinal();
+                }
+            }
+            return mask;
+        }
+
+        /**
+         * Builds the mask of the tools whose tier is high enough for the block, according to the vanilla tags
+         * @param kind Kind of PowerTool
+         * @param blockType Block to be broken
+         * @return Mask of the allowed tools
+         */
+        private static int tierMask(@Nonnull final PowerToolType.Kind kind, @Nonnull final Material blockType) {
+            final int required;
+            if (Tag.NEEDS_DIAMOND_TOOL.isTagged(blockType)) {
+                required = 3;
+            } else if (Tag.NEEDS_IRON_TOOL.isTagged(blockType)) {
+                required = 2;
+            } else if (Tag.NEEDS_STONE_TOOL.isTagged(blockType)) {
+                required = 1;
+            } else {
+                return ANY_TOOL;
+            }
+
+            int mask = 0;
+            for (PowerToolType powerTool : PowerToolType.ofKind(kind)) {
+                if (powerTool.getTier().getMiningLevel() >= required) {
+                    mask |= 1 << powerTool.getTier().ordinal();
+                }
+            }
+            return mask;
+        }
+    }
+}
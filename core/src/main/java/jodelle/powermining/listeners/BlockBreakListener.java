@@ -0,0 +1,209 @@
+/*
+ * This piece of software is part of the PowerMining Bukkit Plugin
+ * Author: BloodyShade (dev.bukkit.org/profiles/bloodyshade)
+ *
+ * Licensed under the LGPL v3
+ * Further information please refer to the included lgpl-3.0.txt or the gnu website (http://www.gnu.org/licenses/lgpl)
+ */
+
+/*
+ * This class is responsible for handling the actual mining when using a Hammer/Excavator
+ */
+
+package jodelle.powermining.listeners;
+
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.journal.EditRecord;
+import jodelle.powermining.lib.AreaShape;
+import jodelle.powermining.lib.DebuggingMessages;
+import jodelle.powermining.lib.OreFamily;
+import jodelle.powermining.lib.PluginConfig;
+import jodelle.powermining.lib.PowerToolType;
+import jodelle.powermining.lib.PowerUtils;
+import jodelle.powermining.metrics.Metrics;
+import jodelle.powermining.scheduler.AreaBreakJob;
+import jodelle.powermining.scheduler.BreakScheduler;
+import jodelle.powermining.scheduler.DurabilityLedger;
+import jodelle.powermining.scheduler.VeinBreakJob;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+
+public class BlockBreakListener implements Listener {
+	public final PowerMining plugin;
+	public final DebuggingMessages debuggingMessages;
+	private final Metrics metrics;
+
+	private Player player;
+	private ItemStack handItem;
+
+	public BlockBreakListener(@Nonnull PowerMining plugin) {
+
+		this.plugin = plugin;
+		plugin.getServer().getPluginManager().registerEvents(this, plugin);
+
+		debuggingMessages = plugin.getDebuggingMessages();
+		metrics = plugin.getMetrics();
+	}
+
+	@EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+	public void onBlockBreak(BlockBreakEvent event) {
+		final long start = System.nanoTime();
+
+		player = event.getPlayer();
+		handItem = player.getInventory().getItemInMainHand();
+
+		debuggingMessages.log(DebuggingMessages.Category.BREAK, () -> player.getName() + " broke a block");
+
+		final boolean skip = basicVerifications();
+		long phase = metrics.breakVerify.recordSince(start);
+		if (skip){
+			return;
+		}
+
+		final Block centerBlock = event.getBlock();
+		final String playerName = player.getName();
+
+		// The face is only needed when a PowerTool actually breaks a block, so it's worked out here
+		final BlockFace blockFace = PowerUtils.getBreakFace(player, centerBlock);
+
+		// The config is read once so a reload can't change it halfway through the swing
+		final PluginConfig config = plugin.getPluginConfig();
+		final boolean useDurabilityPerBlock = config.isUseDurabilityPerBlock();
+
+		// Every surrounding block costs durability, the center block is paid for by the vanilla break.
+		// The damage of the swings still in flight isn't written yet, so their uses are left out.
+		final boolean chargePerBlock = useDurabilityPerBlock && player.getGameMode().equals(GameMode.SURVIVAL);
+		final DurabilityLedger ledger = plugin.getDurabilityLedger();
+		final int slot = player.getInventory().getHeldItemSlot();
+		final int durabilityBudget = chargePerBlock
+				? PowerUtils.getRemainingDurability(handItem) - 1 - ledger.getHeld(player.getUniqueId(), slot) : Integer.MAX_VALUE;
+		if (durabilityBudget <= 0) {
+			return;
+		}
+
+		final World world = centerBlock.getWorld();
+		final Location dropLocation = centerBlock.getLocation().add(0.5, 0.5, 0.5);
+		final PowerToolType powerTool = plugin.getPowerToolCache().get(player, handItem);
+
+		// Ores are followed through the whole vein instead of breaking the area around them
+		final boolean veinMining = config.getVeinMaxBlocks() > 0 && OreFamily.of(centerBlock.getType()) != OreFamily.NONE && isVeinMining(config, powerTool);
+		final long[] candidates;
+		if (veinMining) {
+			candidates = null;
+		} else {
+			// The shape of the tool was turned into offsets for every face when the config was read
+			final AreaShape shape = config.getShape(powerTool).forFace(blockFace);
+			candidates = shape.pack(centerBlock.getX(), centerBlock.getY(), centerBlock.getZ());
+			phase = metrics.breakShape.recordSince(phase);
+		}
+
+		// If the player's queue or the server's is full the swing is held back until the previous ones are applied.
+		// The swing keeps its place while it's planned, so it can't be turned down once the block is broken.
+		// A vein is only found as it's broken, it holds room for the most blocks it can reach.
+		final int maxBlocks = veinMining ? config.getVeinMaxBlocks() : candidates.length;
+		final BreakScheduler scheduler = plugin.getBreakScheduler();
+		final BreakScheduler.Reservation reservation = scheduler.reserve(player.getUniqueId(), maxBlocks);
+		if (reservation == null) {
+			debuggingMessages.log(DebuggingMessages.Category.BREAK, () -> "Break queue full for " + playerName);
+			event.setCancelled(true);
+			return;
+		}
+
+		final DurabilityLedger.Hold durability = chargePerBlock
+				? ledger.hold(player.getUniqueId(), slot, Math.min(durabilityBudget, maxBlocks)) : null;
+
+		// The center block is recorded now, the event breaks it before any other block of the swing
+		final EditRecord record;
+		if (plugin.getEditJournal() != null) {
+			record = EditRecord.start(player, powerTool.name(), blockFace, centerBlock);
+			record.add(centerBlock);
+		} else {
+			record = null;
+		}
+
+		if (veinMining) {
+			scheduler.submit(reservation, new VeinBreakJob(plugin, player, handItem, centerBlock, dropLocation, durability, record));
+			metrics.veinBreaks.inc();
+		} else {
+			// The blocks matching the tool are worked out first, then broken over the next ticks by the scheduler
+			final Player swingPlayer = player;
+			final ItemStack swingItem = handItem;
+			plugin.getAreaPlanner().plan(world, handItem.getType(), candidates, area -> {
+				if (!swingPlayer.isOnline()) {
+					scheduler.release(reservation);
+					if (durability != null) {
+						ledger.release(durability);
+					}
+					if (record != null) {
+						plugin.journal(record);
+					}
+					return;
+				}
+				scheduler.submit(reservation, new AreaBreakJob(plugin, swingPlayer, swingItem, world, area, dropLocation, durability, record));
+				metrics.areaBreaks.inc();
+			});
+		}
+		metrics.breakPlan.recordSince(phase);
+
+		if (!useDurabilityPerBlock && player.getGameMode().equals(GameMode.SURVIVAL)){
+			PowerUtils.reduceDurability(player, handItem);
+		}
+		metrics.breakTotal.recordSince(start);
+	}
+
+	/**
+	 * Checks if the swing mines the whole vein, either because of the tool or because of the player's permission
+	 * @param config Current config
+	 * @param powerTool PowerTool used by the player
+	 * @return True if the swing mines the whole vein
+	 */
+	private boolean isVeinMining(@Nonnull final PluginConfig config, @Nonnull final PowerToolType powerTool) {
+		if (powerTool.getKind() != PowerToolType.Kind.HAMMER) {
+			return false;
+		}
+		return config.isVeinTool(powerTool) || plugin.getPermissionCache().canVeinMine(player);
+	}
+
+	/**
+	 * Perform the basic verifications
+	 * @return True if the PowerTool is ready to use
+	 */
+	private boolean basicVerifications() {
+		// If the player is sneaking, we want the tool to act like a normal pickaxe/shovel
+		if (player.isSneaking()) {
+			return true;
+		}
+
+		Material handItemType = handItem.getType();
+
+		if(handItemType.equals(Material.AIR)) {
+			return true;
+		}
+
+
+		// If this is not a power tool, acts like a normal pickaxe
+		final PowerToolType powerTool = plugin.getPowerToolCache().get(player, handItem);
+		if (powerTool == null) {
+			return true;
+		}
+
+		// If the player does not have permission to use the tool, acts like a normal pickaxe/shovel
+
+		if (!PowerUtils.checkUsePermission(player, powerTool)) {
+			return true;
+		}
+		return false;
+	}
+}
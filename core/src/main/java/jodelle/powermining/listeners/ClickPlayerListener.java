@@ -0,0 +1,167 @@
+package jodelle.powermining.listeners;
+
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.lib.AreaProtection;
+import jodelle.powermining.lib.AreaShape;
+import jodelle.powermining.lib.ChunkLoader;
+import jodelle.powermining.lib.DebuggingMessages;
+import jodelle.powermining.lib.PackedPos;
+import jodelle.powermining.lib.PluginConfig;
+import jodelle.powermining.lib.PowerToolType;
+import jodelle.powermining.lib.PowerUtils;
+import jodelle.powermining.metrics.Metrics;
+import org.bukkit.GameMode;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+public class ClickPlayerListener implements Listener {
+    private final PowerMining plugin;
+    private final DebuggingMessages debuggingMessages;
+    private final Metrics metrics;
+
+
+    public ClickPlayerListener(@Nonnull final PowerMining plugin) {
+        this.plugin = plugin;
+        debuggingMessages = plugin.getDebuggingMessages();
+        metrics = plugin.getMetrics();
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onPlayerUse(PlayerInteractEvent event) {
+        final long start = System.nanoTime();
+        final Player player = event.getPlayer();
+        final ItemStack handItem = player.getInventory().getItemInMainHand();
+        final Material handItemType = handItem.getType();
+        final Block block = event.getClickedBlock();
+        final Action action = event.getAction();
+
+        final boolean skip = basicVerifications(action, player, handItem, block);
+        long phase = metrics.useVerify.recordSince(start);
+        if (skip){
+            return;
+        }
+
+
+        final BlockFace blockFace = event.getBlockFace();
+
+        /*
+        At this point intellij shows a warning about the possibility of the argument
+        block being null. This warning can be ignored because in the method basicVerifications()
+        we already make sure that the block is not null, and if it is indeed null this method
+        never reached this point of the code.
+         */
+        final PluginConfig config = plugin.getPluginConfig();
+        final World world = block.getWorld();
+        final AreaShape shape = config.getShape(plugin.getPowerToolCache().get(player, handItem)).surface(blockFace);
+        final long[] positions = shape.pack(block.getX(), block.getY(), block.getZ());
+
+        // Only the blocks the tool can be used on are kept, before any of them is turned into a Block
+        final Material[] results = new Material[positions.length];
+        int size = 0;
+        for (long pos : positions) {
+            // Blocks in unloaded chunks are left out, a swing never loads a chunk
+            if (!ChunkLoader.isLoaded(world, pos)) {
+                metrics.unloadedBlocks.inc();
+                continue;
+            }
+
+            final Material blockMat = world.getType(PackedPos.x(pos), PackedPos.y(pos), PackedPos.z(pos));
+
+            if (PowerUtils.validatePlow(handItemType, blockMat)) {
+                results[size] = Material.FARMLAND;
+            } else if (PowerUtils.validatePath(handItemType, blockMat)) {
+                results[size] = Material.DIRT_PATH;
+            } else {
+                continue;
+            }
+            positions[size++] = pos;
+        }
+        metrics.blocksEvaluated.add(positions.length);
+        phase = metrics.useFilter.recordSince(phase);
+
+        final AreaProtection protection = AreaProtection.resolve(plugin, player, world, positions, size);
+
+        // The uses are counted and the durability is reduced once for the whole area
+        final boolean chargePerBlock = config.isUseDurabilityPerBlock() && player.getGameMode().equals(GameMode.SURVIVAL);
+        final int durabilityBudget = chargePerBlock ? PowerUtils.getRemainingDurability(handItem) : Integer.MAX_VALUE;
+        int uses = 0;
+
+        for (int i = 0; i < size && uses < durabilityBudget; i++) {
+            final Block e = world.getBlockAt(PackedPos.x(positions[i]), PackedPos.y(positions[i]), PackedPos.z(positions[i]));
+
+            // Check if player has permission to break the block
+            metrics.protectionChecks.inc();
+            if (!protection.canBreak(e)) {
+                metrics.protectionDenials.inc();
+                continue;
+            }
+
+            debuggingMessages.log(DebuggingMessages.Category.USE, () -> "Using the plow on: " + e.getType());
+            e.setType(results[i]);
+            uses++;
+        }
+        metrics.blocksBroken.add(uses);
+
+        if (chargePerBlock) {
+            PowerUtils.reduceDurability(player, handItem, uses);
+        } else if (player.getGameMode().equals(GameMode.SURVIVAL)){
+            PowerUtils.reduceDurability(player, handItem);
+        }
+        metrics.useApply.recordSince(phase);
+        metrics.useTotal.recordSince(start);
+    }
+
+    /**
+     * Performs the basic verifications
+     * @param action Action performed by the player
+     * @param player Player who performed the action
+     * @param handItem Item held by the player
+     * @param block Block clicked by the player
+     * @return True if all verifications pass
+     */
+    private boolean basicVerifications(@Nonnull final Action action, @Nonnull final Player player, @Nonnull final ItemStack handItem, @Nullable final Block block) {
+        if (action == Action.LEFT_CLICK_BLOCK) {
+            return true;
+        }
+        if (action == Action.LEFT_CLICK_AIR) {
+            return true;
+        }
+        if (action == Action.RIGHT_CLICK_AIR) {
+            return true;
+        }
+        if (player.isSneaking()) {
+            return true;
+        }
+        if(handItem.getType().equals(Material.AIR)) {
+            return true;
+        }
+        if (block == null){
+            return true;
+        }
+        if (!PowerUtils.isTillable(block.getType())){
+            return true;
+        }
+        final PowerToolType powerTool = plugin.getPowerToolCache().get(player, handItem);
+        if (powerTool == null) {
+            return true;
+        }
+        if (!PowerUtils.checkUsePermission(player, powerTool)) {
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -1,7 +1,8 @@
 package jodelle.powermining.listeners;
 
 import jodelle.powermining.PowerMining;
-import jodelle.powermining.lib.Reference;
+import jodelle.powermining.journal.Rollback;
+import jodelle.powermining.lib.PowerToolType;
 import org.bukkit.ChatColor;
 import org.bukkit.NamespacedKey;
 import org.bukkit.command.*;
@@ -42,6 +43,15 @@ public class CommandListener implements Listener, CommandExecutor, TabExecutor {
                     return false;
                 }
                 return giveCommand(sender, args[1]);
+            case "stats":
+                return statsCommand(sender);
+            case "reload":
+                return reloadCommand(sender);
+            case "rollback":
+                if (args.length < 3){
+                    return false;
+                }
+                return rollbackCommand(sender, args[1], args[2]);
         }
 
 
@@ -58,6 +68,62 @@ public class CommandListener implements Listener, CommandExecutor, TabExecutor {
         return true;
     }
 
+    /**
+     * Sends the counters and timings of the PowerTools since the plugin was enabled
+     * @param sender Receiver of the message
+     * @return True if everything went ok
+     */
+    private boolean statsCommand(@Nonnull final CommandSender sender) {
+        if (!sender.hasPermission("powermining.stats")){
+            sender.sendMessage(ChatColor.RED + "[JodellePowerMining] - You don't have permission to use this command");
+            return true;
+        }
+
+        sender.sendMessage(ChatColor.GREEN + "[JodellePowerMining] - Stats since the plugin was enabled");
+        for (String line : plugin.getMetrics().describe()) {
+            sender.sendMessage(line);
+        }
+        return true;
+    }
+
+    /**
+     * Reloads the config file, the outcome is sent to the sender once it's done
+     * @param sender Sender of the command
+     * @return True if everything went ok
+     */
+    private boolean reloadCommand(@Nonnull final CommandSender sender) {
+        if (!sender.hasPermission("powermining.reload")){
+            sender.sendMessage(ChatColor.RED + "[JodellePowerMining] - You don't have permission to use this command");
+            return true;
+        }
+
+        plugin.reloadPluginConfig(sender);
+        return true;
+    }
+
+    /**
+     * Undoes the PowerTool swings of a player, the outcome is sent to the sender once the journal was read
+     * @param sender Sender of the command
+     * @param playerName Name of the player whose swings are undone
+     * @param time How far back the swings are undone, ex: 30m, 2h, 1d
+     * @return True if everything went ok
+     */
+    private boolean rollbackCommand(@Nonnull final CommandSender sender, @Nonnull final String playerName, @Nonnull final String time) {
+        if (!sender.hasPermission("powermining.rollback")){
+            sender.sendMessage(ChatColor.RED + "[JodellePowerMining] - You don't have permission to use this command");
+            return true;
+        }
+
+        final long millis = Rollback.parseDuration(time);
+        if (millis <= 0){
+            sender.sendMessage(ChatColor.RED + "[JodellePowerMining] - Invalid time " + time + ", use something like 30m, 2h or 1d");
+            return true;
+        }
+
+        Rollback.start(plugin, sender, playerName, millis);
+        return true;
+    }
+
     /*
     * This method gives a powerTool to a player. The PowerTools are already created and registered
     * as a recipe on the server. This means that using their NameSpacedKey we can access the recipe
@@ -113,13 +179,16 @@ public class CommandListener implements Listener, CommandExecutor, TabExecutor {
 
             arguments.add("version");
             arguments.add("give");
+            arguments.add("stats");
+            arguments.add("reload");
+            arguments.add("rollback");
             return arguments;
         }
 
-        if (args.length == 2){
-            arguments.addAll(Reference.EXCAVATORS);
-            arguments.addAll(Reference.HAMMERS);
-            arguments.addAll(Reference.PLOWS);
+        if (args.length == 2 && args[0].equals("give")){
+            for (PowerToolType powerTool : PowerToolType.values()) {
+                arguments.add(powerTool.name());
+            }
             return arguments;
         }
 
@@ -0,0 +1,245 @@
+/*
+ * This piece of software is part of the PowerMining Bukkit Plugin
+ * Author: BloodyShade (dev.bukkit.org/profiles/bloodyshade)
+ *
+ * Licensed under the LGPL v3
+ * Further information please refer to the included lgpl-3.0.txt or the gnu website (http://www.gnu.org/licenses/lgpl)
+ */
+
+/*
+ * This class is responsible for cancelling the crafting in case the user does not have permission
+ */
+
+package jodelle.powermining.listeners;
+
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.lib.CompiledRecipe;
+import jodelle.powermining.lib.DebuggingMessages;
+import jodelle.powermining.lib.PowerUtils;
+import org.bukkit.ChatColor;
+import org.bukkit.Keyed;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.CraftItemEvent;
+import org.bukkit.event.inventory.PrepareItemCraftEvent;
+import org.bukkit.inventory.CraftingInventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.Recipe;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+
+public class CraftItemListener implements Listener {
+	private final PowerMining plugin;
+	private final DebuggingMessages debuggingMessages;
+
+	public CraftItemListener(@Nonnull final PowerMining plugin) {
+		this.plugin = plugin;
+		debuggingMessages = plugin.getDebuggingMessages();
+
+		plugin.getServer().getPluginManager().registerEvents(this, plugin);
+	}
+
+
+	/**
+	 * Hides the result as soon as a slot has fewer items than the recipe asks for, so the player can't click on
+	 * a PowerTool that would be refused anyway
+	 */
+	@EventHandler(priority = EventPriority.LOW)
+	public void prepareCraft(PrepareItemCraftEvent event) {
+		final CompiledRecipe recipe = findRecipe(event.getRecipe());
+		if (recipe == null) {
+			return;
+		}
+
+		final CraftingInventory inventory = event.getInventory();
+		if (recipe.missingSlot(inventory.getMatrix()) != -1) {
+			inventory.setResult(null);
+		}
+	}
+
+	// This method checks if everything is ok when a player is crafting
+	// Because theres no way to set the amount of each item in the shaped recipe
+	// One option is to check the quantity while he is crafting
+	@EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+	public void canCraft(CraftItemEvent event) {
+		final HumanEntity whoClicked = event.getWhoClicked();
+
+		// The recipe is found by its key, anything that isn't in the index isn't a PowerTool
+		final CompiledRecipe recipe = findRecipe(event.getRecipe());
+
+		if (basicVerifications(event, recipe)){
+			debuggingMessages.log(DebuggingMessages.Category.CRAFT, () -> "Verifications not ok");
+			return;
+		}
+
+		// Refused by the permission check, the items must stay on the crafting table
+		if (event.isCancelled()){
+			return;
+		}
+
+		final CraftingInventory inventory = event.getInventory();
+		final ItemStack[] matrix = inventory.getMatrix();
+
+		// If the recipe is not ok, the player can't take the item out of the crafted slot
+		if (!checkCraftingMatrix(matrix, recipe, whoClicked)){
+			debuggingMessages.log(DebuggingMessages.Category.CRAFT, () -> "Recipe not ok");
+			event.setCancelled(true);
+			return;
+		}
+
+		// The server would repeat the craft taking a single item per slot each time, so the whole batch is done here
+		if (event.isShiftClick()){
+			event.setCancelled(true);
+			bulkCraft((Player) whoClicked, inventory, matrix, recipe);
+			return;
+		}
+
+		// If everything is ok, we change crafting matrix amounts
+		// This is needed because when we take the item, it only removes 1 of each
+		// from the crafting table.
+		// Also checks if the item on the slot has some kind of enchantments and passes
+		// them to the result item upon crafting.
+		updateCraftingMatrix(inventory, matrix, recipe);
+
+
+	}
+
+	/**
+	 * Update the item amount on the crafting table. Also add the enchantments present
+	 * on the used items to the new PowerTool
+	 * @param inventory Inventory of the player
+	 * @param matrix Matrix of the crafting table
+	 * @param recipe Recipe being crafted
+	 */
+	private void updateCraftingMatrix(@Nonnull final CraftingInventory inventory, @Nonnull final ItemStack[] matrix, @Nonnull final CompiledRecipe recipe) {
+		for (int i = 0; i < matrix.length; i++) {
+			if (matrix[i] != null && recipe.getAmount(i) > 0){
+				matrix[i].setAmount(matrix[i].getAmount() - recipe.getAmount(i)+1);
+				Map<Enchantment, Integer> enchantments = matrix[i].getEnchantments();
+				ItemStack result = inventory.getResult();
+				if (result != null){
+					result.addEnchantments(enchantments);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Crafts as many PowerTools as the crafting table and the player's inventory allow, taking all the items
+	 * at once and adding every PowerTool with a single inventory update
+	 * @param player Player who is crafting
+	 * @param inventory Crafting table
+	 * @param matrix Matrix of the crafting table
+	 * @param recipe Recipe being crafted
+	 */
+	private void bulkCraft(@Nonnull final Player player, @Nonnull final CraftingInventory inventory, @Nonnull final ItemStack[] matrix, @Nonnull final CompiledRecipe recipe) {
+		final ItemStack result = inventory.getResult();
+		if (result == null){
+			return;
+		}
+
+		final int crafts = Math.min(recipe.maxCrafts(matrix), freeSpace(player.getInventory(), result));
+		if (crafts == 0){
+			return;
+		}
+
+		// Every PowerTool gets the enchantments of the items used, the same way a single craft does
+		final ItemStack crafted = result.clone();
+		for (int i = 0; i < matrix.length; i++) {
+			if (matrix[i] != null && recipe.getAmount(i) > 0){
+				crafted.addEnchantments(matrix[i].getEnchantments());
+
+				final int left = matrix[i].getAmount() - recipe.getAmount(i) * crafts;
+				if (left > 0){
+					matrix[i].setAmount(left);
+				} else {
+					matrix[i] = null;
+				}
+			}
+		}
+		inventory.setMatrix(matrix);
+
+		final ItemStack[] results = new ItemStack[crafts];
+		for (int i = 0; i < crafts; i++) {
+			results[i] = crafted.clone();
+		}
+		for (ItemStack leftover : player.getInventory().addItem(results).values()) {
+			player.getWorld().dropItem(player.getLocation(), leftover);
+		}
+
+		if (recipe.missingSlot(matrix) != -1){
+			inventory.setResult(null);
+		}
+		player.updateInventory();
+	}
+
+	/**
+	 * @param inventory Inventory of the player
+	 * @param item Item to be added
+	 * @return How many times the item fits in the inventory
+	 */
+	private static int freeSpace(@Nonnull final PlayerInventory inventory, @Nonnull final ItemStack item) {
+		int space = 0;
+		for (ItemStack slot : inventory.getStorageContents()) {
+			if (slot == null || slot.getType() == Material.AIR){
+				space += item.getMaxStackSize();
+			} else if (slot.isSimilar(item)){
+				space += Math.max(0, slot.getMaxStackSize() - slot.getAmount());
+			}
+		}
+		return space / Math.max(1, item.getAmount());
+	}
+
+	/**
+	 * @param recipe Recipe matched by the crafting table
+	 * @return The PowerTool recipe, null if it isn't one
+	 */
+	@Nullable
+	private CompiledRecipe findRecipe(@Nullable final Recipe recipe) {
+		if (!(recipe instanceof Keyed)) {
+			return null;
+		}
+		return plugin.getPluginConfig().getRecipe(((Keyed) recipe).getKey());
+	}
+
+	private boolean basicVerifications(@Nonnull CraftItemEvent event, @Nullable CompiledRecipe recipe) {
+		// Check if the item is a power tool
+		if (recipe == null) {
+			debuggingMessages.log(DebuggingMessages.Category.CRAFT, () -> "The item is not a PowerTool.");
+			return true;
+		}
+
+		// Check if the player has crafting permission for this item type
+		if (!PowerUtils.checkCraftPermission((Player) event.getWhoClicked(), recipe.getType())) {
+			debuggingMessages.log(DebuggingMessages.Category.CRAFT, () -> "The player doesn't have permissions");
+			event.setCancelled(true);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Checks the crafting recipe and item amounts
+	 * @param matrix Crafting table matrix
+	 * @param recipe Recipe being crafted
+	 * @param whoClicked Player who is crafting
+	 * @return True if the recipe and its amounts are correct
+	 */
+	private boolean checkCraftingMatrix(@Nonnull final ItemStack[] matrix, @Nonnull final CompiledRecipe recipe, @Nonnull final HumanEntity whoClicked) {
+		final int slot = recipe.missingSlot(matrix);
+		if (slot != -1){
+			debuggingMessages.log(DebuggingMessages.Category.CRAFT, () -> "You didn't add enough " + recipe.getMaterial(slot));
+			whoClicked.sendMessage(ChatColor.RED + "[JodellePowerMining] - You didn't add enough " + recipe.getMaterial(slot));
+			return false;
+		}
+		return true;
+	}
+}
@@ -14,6 +14,7 @@ package jodelle.powermining.listeners;
 
 
 import jodelle.powermining.PowerMining;
+import jodelle.powermining.lib.PowerToolType;
 import jodelle.powermining.lib.PowerUtils;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -34,11 +35,12 @@ public class EnchantItemListener implements Listener {
 	public void canEnchant(EnchantItemEvent event) {
 		final ItemStack item = event.getItem();
 
-		if (!PowerUtils.isPowerTool(item)) {
+		final PowerToolType powerTool = PowerToolType.decode(item);
+		if (powerTool == null) {
 			return;
 		}
 
-		if (!PowerUtils.checkEnchantPermission(event.getEnchanter(), item.getType())) {
+		if (!PowerUtils.checkEnchantPermission(event.getEnchanter(), powerTool)) {
 			event.setCancelled(true);
 		}
 	}
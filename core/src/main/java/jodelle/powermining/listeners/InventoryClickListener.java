@@ -13,6 +13,7 @@
 package jodelle.powermining.listeners;
 
 import jodelle.powermining.PowerMining;
+import jodelle.powermining.lib.PowerToolType;
 import jodelle.powermining.lib.PowerUtils;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -52,7 +53,8 @@ public class InventoryClickListener implements Listener {
 			return;
 
 		// Ignore event if the first item is not a power tool
-		if (!PowerUtils.isPowerTool(item))
+		final PowerToolType powerTool = PowerToolType.decode(item);
+		if (powerTool == null)
 			return;
 
 		// If this is not an enchanted book we need to check if it another power tool or allowed ingot
@@ -80,7 +82,7 @@ public class InventoryClickListener implements Listener {
 			}
 		}
 
-		if (!PowerUtils.checkEnchantPermission((Player) event.getWhoClicked(), item.getType()))
+		if (!PowerUtils.checkEnchantPermission((Player) event.getWhoClicked(), powerTool))
 			event.setCancelled(true);
 	}
 }
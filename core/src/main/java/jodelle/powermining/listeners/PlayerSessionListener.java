@@ -0,0 +1,45 @@
+/*
+ * This class is responsible for forgetting the per-player state kept by the plugin when a player leaves
+ */
+
+package jodelle.powermining.listeners;
+
+import jodelle.powermining.PowerMining;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+
+public class PlayerSessionListener implements Listener {
+    private final PowerMining plugin;
+
+    public PlayerSessionListener(@Nonnull final PowerMining plugin) {
+        this.plugin = plugin;
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        plugin.getPermissionCache().invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        final UUID playerId = event.getPlayer().getUniqueId();
+
+        plugin.getPowerToolCache().invalidate(playerId);
+        plugin.getPermissionCache().invalidate(playerId);
+        plugin.getProtectionCache().invalidate(playerId);
+    }
+
+    // Permission plugins can grant different permissions per world
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        plugin.getPermissionCache().invalidate(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Lock-free counter that only goes up, safe to update from the main thread and the planner threads at once
+ */
+
+package jodelle.powermining.metrics;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Counter {
+    private final String name;
+    private final String help;
+    private final LongAdder value = new LongAdder();
+
+    Counter(@Nonnull final String name, @Nonnull final String help) {
+        this.name = name;
+        this.help = help;
+    }
+
+    public void inc() {
+        value.increment();
+    }
+
+    public void add(final long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    @Nonnull
+    public String getHelp() {
+        return help;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Lock-free histogram of durations with fixed buckets from 10 microseconds to 50 milliseconds.
+ * Recording a duration is a short scan over the bucket bounds and two adds, nothing is allocated.
+ */
+
+package jodelle.powermining.metrics;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class LatencyHistogram {
+    // Upper bound of each bucket in nanoseconds, durations above the last one go in an extra bucket
+    static final long[] BOUNDS = {
+            10_000L, 25_000L, 50_000L, 100_000L, 250_000L, 500_000L,
+            1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L, 50_000_000L
+    };
+
+    private final String name;
+    private final String labels;
+    private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * @param name Name of the histogram, several histograms can share it with different labels
+     * @param labels Prometheus labels of this histogram, ex: phase="plan"
+     */
+    LatencyHistogram(@Nonnull final String name, @Nonnull final String labels) {
+        this.name = name;
+        this.labels = labels;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the time passed since the start
+     * @param startNanos Value of System.nanoTime() when the measured work started
+     * @return The current System.nanoTime(), so consecutive phases can be chained
+     */
+    public long recordSince(final long startNanos) {
+        final long now = System.nanoTime();
+        record(now - startNanos);
+        return now;
+    }
+
+    public void record(final long nanos) {
+        int bucket = 0;
+        while (bucket < BOUNDS.length && nanos > BOUNDS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        totalNanos.add(nanos);
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    @Nonnull
+    public String getLabels() {
+        return labels;
+    }
+
+    /**
+     * @return Number of durations recorded in each bucket, not cumulative
+     */
+    @Nonnull
+    public long[] getBuckets() {
+        final long[] counts = new long[buckets.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Estimates a quantile from the buckets
+     * @param counts Counts returned by getBuckets
+     * @param quantile Quantile between 0 and 1
+     * @return Upper bound of the bucket holding the quantile in nanoseconds, -1 for the overflow bucket
+     */
+    static long quantile(@Nonnull final long[] counts, final double quantile) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+
+        final long target = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return BOUNDS[i];
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Counters and latency histograms of the PowerTools, shown by /jpm stats and written by the PrometheusExporter
+ */
+
+package jodelle.powermining.metrics;
+
+import org.bukkit.ChatColor;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class Metrics {
+    private final ArrayList<Counter> counters = new ArrayList<>();
+    private final ArrayList<LatencyHistogram> histograms = new ArrayList<>();
+
+    public final Counter areaBreaks = counter("jpm_area_breaks_total", "Swings queued by the Hammers and Excavators");
+    public final Counter veinBreaks = counter("jpm_vein_breaks_total", "Swings queued by the Hammers in vein mining mode");
+    public final Counter blocksEvaluated = counter("jpm_blocks_evaluated_total", "Blocks checked against the tool rules");
+    public final Counter unloadedBlocks = counter("jpm_unloaded_blocks_total", "Blocks left out because their chunk wasn't loaded");
+    public final Counter blocksBroken = counter("jpm_blocks_broken_total", "Blocks broken or changed by the PowerTools");
+    public final Counter protectionChecks = counter("jpm_protection_checks_total", "Blocks checked against the region protection");
+    public final Counter protectionDenials = counter("jpm_protection_denials_total", "Blocks skipped because they are protected");
+    public final Counter permissionChecks = counter("jpm_permission_checks_total", "Craft, use and enchant permission checks");
+    public final Counter journalRecords = counter("jpm_journal_records_total", "Swings written to the journal");
+    public final Counter journalDropped = counter("jpm_journal_dropped_total", "Swings left out of the journal because its writer fell behind");
+    public final Counter blocksRestored = counter("jpm_blocks_restored_total", "Blocks put back by /jpm rollback");
+    public final Counter durabilityWrites = counter("jpm_durability_writes_total", "ItemMeta writes done to reduce the durability of a tool");
+
+    public final LatencyHistogram breakVerify = histogram("block_break", "verify");
+    public final LatencyHistogram breakShape = histogram("block_break", "shape");
+    public final LatencyHistogram breakPlan = histogram("block_break", "plan");
+    public final LatencyHistogram breakTotal = histogram("block_break", "total");
+    public final LatencyHistogram useVerify = histogram("player_use", "verify");
+    public final LatencyHistogram useFilter = histogram("player_use", "filter");
+    public final LatencyHistogram useApply = histogram("player_use", "apply");
+    public final LatencyHistogram useTotal = histogram("player_use", "total");
+    public final LatencyHistogram schedulerTick = histogram("break_scheduler", "tick");
+
+    @Nonnull
+    private Counter counter(@Nonnull final String name, @Nonnull final String help) {
+        final Counter counter = new Counter(name, help);
+        counters.add(counter);
+        return counter;
+    }
+
+    @Nonnull
+    private LatencyHistogram histogram(@Nonnull final String source, @Nonnull final String phase) {
+        final LatencyHistogram histogram = new LatencyHistogram("jpm_phase_seconds", "source=\"" + source + "\",phase=\"" + phase + "\"");
+        histograms.add(histogram);
+        return histogram;
+    }
+
+    /**
+     * Builds the lines shown by /jpm stats
+     * @return One line per counter and per histogram
+     */
+    @Nonnull
+    public List<String> describe() {
+        final ArrayList<String> lines = new ArrayList<>();
+        for (Counter counter : counters) {
+            lines.add(ChatColor.GOLD + counter.getHelp() + ": " + ChatColor.WHITE + counter.get());
+        }
+
+        for (LatencyHistogram histogram : histograms) {
+            final long[] buckets = histogram.getBuckets();
+            long count = 0;
+            for (long bucket : buckets) {
+                count += bucket;
+            }
+
+            final String mean = count == 0 ? "-" : formatMicros(histogram.getTotalNanos() / count);
+            lines.add(ChatColor.GOLD + histogram.getLabels().replace("\"", "") + ": " + ChatColor.WHITE + count
+                    + " calls, mean " + mean
+                    + ", p50 <= " + formatBound(LatencyHistogram.quantile(buckets, 0.5), count)
+                    + ", p99 <= " + formatBound(LatencyHistogram.quantile(buckets, 0.99), count));
+        }
+        return lines;
+    }
+
+    /**
+     * Writes every metric in the Prometheus text format
+     * @param out Receives the text
+     */
+    public void writePrometheus(@Nonnull final StringBuilder out) {
+        for (Counter counter : counters) {
+            out.append("# HELP ").append(counter.getName()).append(' ').append(counter.getHelp()).append('\n');
+            out.append("# TYPE ").append(counter.getName()).append(" counter\n");
+            out.append(counter.getName()).append(' ').append(counter.get()).append('\n');
+        }
+
+        String lastName = null;
+        for (LatencyHistogram histogram : histograms) {
+            if (!histogram.getName().equals(lastName)) {
+                lastName = histogram.getName();
+                out.append("# HELP ").append(lastName).append(" Time spent by the PowerTools in each phase\n");
+                out.append("# TYPE ").append(lastName).append(" histogram\n");
+            }
+
+            final long[] buckets = histogram.getBuckets();
+            long cumulative = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulative += buckets[i];
+                final String bound = i < LatencyHistogram.BOUNDS.length ? Double.toString(LatencyHistogram.BOUNDS[i] / 1e9) : "+Inf";
+                out.append(lastName).append("_bucket{").append(histogram.getLabels()).append(",le=\"").append(bound).append("\"} ")
+                        .append(cumulative).append('\n');
+            }
+            out.append(lastName).append("_sum{").append(histogram.getLabels()).append("} ").append(histogram.getTotalNanos() / 1e9).append('\n');
+            out.append(lastName).append("_count{").append(histogram.getLabels()).append("} ").append(cumulative).append('\n');
+        }
+    }
+
+    @Nonnull
+    private static String formatMicros(final long nanos) {
+        return String.format("%.1fus", nanos / 1000.0);
+    }
+
+    @Nonnull
+    private static String formatBound(final long bound, final long count) {
+        if (count == 0) {
+            return "-";
+        }
+        return bound < 0 ? ">" + formatMicros(LatencyHistogram.BOUNDS[LatencyHistogram.BOUNDS.length - 1]) : formatMicros(bound);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Writes the metrics to a file in the Prometheus text format, to be picked up by the node exporter's
+ * textfile collector. The file is written off the main thread and replaced atomically, so it is never read half written.
+ */
+
+package jodelle.powermining.metrics;
+
+import jodelle.powermining.PowerMining;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+public class PrometheusExporter extends BukkitRunnable {
+    private final PowerMining plugin;
+    private final Metrics metrics;
+    private final Path file;
+    private final Path temporaryFile;
+    private boolean failed = false;
+
+    public PrometheusExporter(@Nonnull final PowerMining plugin, @Nonnull final Metrics metrics, @Nonnull final Path file) {
+        this.plugin = plugin;
+        this.metrics = metrics;
+        this.file = file.toAbsolutePath();
+        this.temporaryFile = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+    }
+
+    /**
+     * Starts writing the file on a separate thread
+     * @param seconds Time between two writes
+     */
+    public void start(final int seconds) {
+        final long period = Math.max(1, seconds) * 20L;
+        runTaskTimerAsynchronously(plugin, period, period);
+    }
+
+    @Override
+    public void run() {
+        final StringBuilder out = new StringBuilder(4096);
+        metrics.writePrometheus(out);
+
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(temporaryFile, out.toString().getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            failed = false;
+        } catch (IOException e) {
+            // Only the first failure in a row is logged, otherwise the console would be flooded
+            if (!failed) {
+                plugin.getLogger().info("Couldn't write the metrics to " + file + ": " + e.getMessage());
+            }
+            failed = true;
+        }
+    }
+}
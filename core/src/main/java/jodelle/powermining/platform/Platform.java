@@ -0,0 +1,48 @@
+/*
+ * Adapter between the plugin and the server it runs on. The core only uses the Spigot API, the calls that a server
+ * can do faster than Spigot go through the adapter, which is picked once when the plugin is enabled. Every server
+ * gets the SpigotPlatform, Paper servers get the adapter of the paper module.
+ */
+
+package jodelle.powermining.platform;
+
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+
+import javax.annotation.Nonnull;
+
+public interface Platform {
+
+    /**
+     * @return Name of the platform, shown when the plugin is enabled
+     */
+    @Nonnull
+    String getName();
+
+    /**
+     * @return True if the server can load chunks without blocking the main thread
+     */
+    boolean canLoadAsync();
+
+    /**
+     * Requests the chunks without generating the missing ones. Only call it when canLoadAsync is true.
+     * @param plugin Instance of the plugin
+     * @param world World of the chunks
+     * @param chunkKeys Keys of the chunks, see PackedPos.chunkKey
+     * @param urgent True if a player is waiting for the chunks, they are then loaded before the others
+     * @param callback Runs on the main thread once every chunk was loaded or failed to load
+     */
+    void loadChunks(@Nonnull final Plugin plugin, @Nonnull final World world, @Nonnull final long[] chunkKeys,
+                    final boolean urgent, @Nonnull final Runnable callback);
+
+    /**
+     * Breaks the block and drops its items, like Block.breakNaturally
+     * @param block Block to be broken
+     * @param tool Tool used
+     * @param effects True to also play the break particles and sound, on the platforms that can
+     * @return True if the tool was the right one to get the block's drops
+     */
+    boolean breakNaturally(@Nonnull final Block block, @Nonnull final ItemStack tool, final boolean effects);
+}
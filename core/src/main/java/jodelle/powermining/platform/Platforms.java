@@ -0,0 +1,55 @@
+/*
+ * Picks the Platform of the server when the plugin is enabled. The Paper adapter is only loaded when the server
+ * has the Paper API it's built against, so the hot paths call the adapter directly and never check what the
+ * server can do.
+ */
+
+package jodelle.powermining.platform;
+
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+import java.util.logging.Logger;
+
+public final class Platforms {
+    // Built by the paper module, missing from a jar built with the core alone
+    private static final String PAPER_PLATFORM = "jodelle.powermining.platform.paper.PaperPlatform";
+
+    private Platforms() {
+    }
+
+    /**
+     * @param logger Receives the problems found while loading the Paper adapter
+     * @return The fastest Platform the server supports
+     */
+    @Nonnull
+    public static Platform select(@Nonnull final Logger logger) {
+        if (!hasPaperApi()) {
+            return new SpigotPlatform();
+        }
+
+        try {
+            return Class.forName(PAPER_PLATFORM).asSubclass(Platform.class).getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return new SpigotPlatform();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.info("Couldn't load the Paper adapter, using the Spigot one: " + e);
+            return new SpigotPlatform();
+        }
+    }
+
+    /**
+     * @return True if the server has the Paper methods used by the Paper adapter
+     */
+    private static boolean hasPaperApi() {
+        try {
+            World.class.getMethod("getChunkAtAsync", int.class, int.class, boolean.class, boolean.class);
+            Block.class.getMethod("breakNaturally", ItemStack.class, boolean.class);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Platform of the servers that only have the Spigot API. Chunks are never loaded for the swings, the blocks in
+ * unloaded chunks are left out of the swings, and blocks are broken without any effect.
+ */
+
+package jodelle.powermining.platform;
+
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+
+import javax.annotation.Nonnull;
+
+public final class SpigotPlatform implements Platform {
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "Spigot";
+    }
+
+    @Override
+    public boolean canLoadAsync() {
+        return false;
+    }
+
+    @Override
+    public void loadChunks(@Nonnull final Plugin plugin, @Nonnull final World world, @Nonnull final long[] chunkKeys,
+                           final boolean urgent, @Nonnull final Runnable callback) {
+        // Loading them here would block the main thread, the chunks stay unloaded
+        callback.run();
+    }
+
+    @Override
+    public boolean breakNaturally(@Nonnull final Block block, @Nonnull final ItemStack tool, final boolean effects) {
+        return block.breakNaturally(tool);
+    }
+}
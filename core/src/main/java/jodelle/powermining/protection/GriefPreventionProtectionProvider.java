@@ -0,0 +1,164 @@
+/*
+ * ProtectionProvider backed by GriefPrevention claims. Claims are looked up from the chunks under the swing.
+ * Blocks outside of every claim share a single decision, only the blocks inside a claim are checked one by one.
+ * Claims announce their changes, so the cached decisions are dropped as soon as a claim or its trust changes.
+ */
+
+package jodelle.powermining.protection;
+
+import jodelle.powermining.lib.AreaProtection;
+import me.ryanhamshire.GriefPrevention.Claim;
+import me.ryanhamshire.GriefPrevention.GriefPrevention;
+import me.ryanhamshire.GriefPrevention.events.ClaimCreatedEvent;
+import me.ryanhamshire.GriefPrevention.events.ClaimDeletedEvent;
+import me.ryanhamshire.GriefPrevention.events.ClaimModifiedEvent;
+import me.ryanhamshire.GriefPrevention.events.TrustChangedEvent;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashSet;
+
+public final class GriefPreventionProtectionProvider implements ProtectionProvider {
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "GriefPrevention";
+    }
+
+    @Override
+    public int getCost() {
+        // Claims are kept in memory, indexed by chunk
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public AreaProtection resolve(@Nonnull final Player player, @Nonnull final World world,
+                                  final int minX, final int minY, final int minZ, final int maxX, final int maxY, final int maxZ) {
+        final GriefPrevention griefPrevention = GriefPrevention.instance;
+        if (griefPrevention == null || !griefPrevention.claimsEnabledForWorld(world)) {
+            return AreaProtection.ALLOW_ALL;
+        }
+
+        // Claims cover whole columns, only their x and z bounds matter
+        final HashSet<Claim> seen = new HashSet<>();
+        final ArrayList<int[]> claimBoxes = new ArrayList<>();
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                for (Claim claim : griefPrevention.dataStore.getClaims(chunkX, chunkZ)) {
+                    if (!seen.add(claim)) {
+                        continue;
+                    }
+                    final Location lesser = claim.getLesserBoundaryCorner();
+                    final Location greater = claim.getGreaterBoundaryCorner();
+                    if (greater.getBlockX() < minX || lesser.getBlockX() > maxX
+                            || greater.getBlockZ() < minZ || lesser.getBlockZ() > maxZ) {
+                        continue;
+                    }
+                    claimBoxes.add(new int[]{lesser.getBlockX(), lesser.getBlockZ(), greater.getBlockX(), greater.getBlockZ()});
+                }
+            }
+        }
+
+        final int[] boxes = new int[claimBoxes.size() * 4];
+        for (int i = 0; i < claimBoxes.size(); i++) {
+            System.arraycopy(claimBoxes.get(i), 0, boxes, i * 4, 4);
+        }
+
+        final ClaimProtection protection = new ClaimProtection(griefPrevention, player, boxes);
+        if (boxes.length > 0) {
+            return protection;
+        }
+
+        // Only wilderness in the box, a single test decides for every block
+        return protection.test(world.getBlockAt(minX, minY, minZ)) ? AreaProtection.ALLOW_ALL : AreaProtection.DENY_ALL;
+    }
+
+    @Override
+    public void watchChanges(@Nonnull final Plugin plugin, @Nonnull final Runnable onChange) {
+        plugin.getServer().getPluginManager().registerEvents(new ClaimListener(onChange), plugin);
+    }
+
+    private static final class ClaimListener implements Listener {
+        private final Runnable onChange;
+
+        private ClaimListener(@Nonnull final Runnable onChange) {
+            this.onChange = onChange;
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onClaimCreated(ClaimCreatedEvent event) {
+            onChange.run();
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onClaimDeleted(ClaimDeletedEvent event) {
+            onChange.run();
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onClaimModified(ClaimModifiedEvent event) {
+            onChange.run();
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onTrustChanged(TrustChangedEvent event) {
+            onChange.run();
+        }
+    }
+
+    private static final class ClaimProtection extends AreaProtection {
+        private final GriefPrevention griefPrevention;
+        private final Player player;
+        // Column bounds of the claims overlapping the area, 4 ints per claim
+        private final int[] claimBoxes;
+        private Boolean wildernessDecision;
+
+        private ClaimProtection(@Nonnull final GriefPrevention griefPrevention, @Nonnull final Player player, @Nonnull final int[] claimBoxes) {
+            this.griefPrevention = griefPrevention;
+            this.player = player;
+            this.claimBoxes = claimBoxes;
+        }
+
+        @Override
+        public boolean canBreak(@Nonnull final Block block) {
+            if (insideClaim(block.getX(), block.getZ())) {
+                return test(block);
+            }
+
+            // The wilderness rules are the same for every block outside of the claims
+            if (wildernessDecision == null) {
+                wildernessDecision = test(block);
+            }
+            return wildernessDecision;
+        }
+
+        private boolean insideClaim(final int x, final int z) {
+            for (int i = 0; i < claimBoxes.length; i += 4) {
+                if (x >= claimBoxes[i] && z >= claimBoxes[i + 1] && x <= claimBoxes[i + 2] && z <= claimBoxes[i + 3]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean test(@Nonnull final Block block) {
+            // GriefPrevention answers with the reason of the denial, or null when the block can be broken
+            return griefPrevention.allowBreak(player, block, block.getLocation()) == null;
+        }
+
+        @Override
+        public String toString() {
+            return "GriefPrevention(" + claimBoxes.length / 4 + " claims)";
+        }
+    }
+}
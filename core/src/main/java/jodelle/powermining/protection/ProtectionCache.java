@@ -0,0 +1,126 @@
+/*
+ * Keeps the protection of the chunk sections each player recently mined in, so swings in the same sections don't
+ * ask the protection plugins again. Every player keeps the sections it used last, up to a limit, and each section
+ * is dropped after a short time to pick up changes made by protection plugins that don't announce them.
+ */
+
+package jodelle.powermining.protection;
+
+import jodelle.powermining.lib.AreaProtection;
+import jodelle.powermining.lib.PackedPos;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class ProtectionCache {
+    private final ProtectionChain chain;
+    private final HashMap<UUID, Sections> players = new HashMap<>();
+    private long expireMillis;
+    private int maxSections;
+
+    private static final class Entry {
+        private final AreaProtection protection;
+        private final long expires;
+
+        private Entry(@Nonnull final AreaProtection protection, final long expires) {
+            this.protection = protection;
+            this.expires = expires;
+        }
+    }
+
+    /**
+     * Sections of a single player, the least recently used one is dropped first
+     */
+    private final class Sections extends LinkedHashMap<Long, Entry> {
+        private final UUID worldId;
+
+        private Sections(@Nonnull final UUID worldId) {
+            super(16, 0.75f, true);
+            this.worldId = worldId;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Long, Entry> eldest) {
+            return size() > maxSections;
+        }
+    }
+
+    /**
+     * @param chain Providers asked when a section isn't known yet
+     * @param expireSeconds How long the protection of a section is kept, 0 disables the cache
+     * @param maxSections How many sections are kept per player
+     */
+    public ProtectionCache(@Nonnull final ProtectionChain chain, final int expireSeconds, final int maxSections) {
+        this.chain = chain;
+        configure(expireSeconds, maxSections);
+    }
+
+    /**
+     * Changes how long and how many sections are kept, used when the config is reloaded
+     * @param expireSeconds How long the protection of a section is kept, 0 disables the cache
+     * @param maxSections How many sections are kept per player
+     */
+    public void configure(final int expireSeconds, final int maxSections) {
+        this.expireMillis = expireSeconds * 1000L;
+        this.maxSections = maxSections;
+        players.clear();
+    }
+
+    /**
+     * Gets the protection of a whole chunk section for the player
+     * @param player Player who is breaking the blocks
+     * @param world World of the section
+     * @param section Packed position of the lowest corner of the section, see PackedPos.section
+     * @return Protection decisions for every block of the section
+     */
+    @Nonnull
+    public AreaProtection get(@Nonnull final Player player, @Nonnull final World world, final long section) {
+        if (expireMillis <= 0) {
+            return resolve(player, world, section);
+        }
+
+        final long now = System.currentTimeMillis();
+        final UUID playerId = player.getUniqueId();
+
+        Sections sections = players.get(playerId);
+        if (sections == null || !sections.worldId.equals(world.getUID())) {
+            sections = new Sections(world.getUID());
+            players.put(playerId, sections);
+        }
+
+        Entry entry = sections.get(section);
+        if (entry == null || entry.expires < now) {
+            entry = new Entry(resolve(player, world, section), now + expireMillis);
+            sections.put(section, entry);
+        }
+        return entry.protection;
+    }
+
+    @Nonnull
+    private AreaProtection resolve(@Nonnull final Player player, @Nonnull final World world, final long section) {
+        final int x = PackedPos.x(section);
+        final int y = PackedPos.y(section);
+        final int z = PackedPos.z(section);
+        return chain.resolve(player, world, x, y, z, x + 15, y + 15, z + 15);
+    }
+
+    /**
+     * Forgets the sections of the player
+     * @param playerId Id of the player
+     */
+    public void invalidate(@Nonnull final UUID playerId) {
+        players.remove(playerId);
+    }
+
+    /**
+     * Forgets the sections of every player, used when a claim or region changes
+     */
+    public void clear() {
+        players.clear();
+    }
+}
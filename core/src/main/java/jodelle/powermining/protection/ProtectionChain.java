@@ -0,0 +1,132 @@
+/*
+ * Every ProtectionProvider whose protection plugin is enabled, ordered from the cheapest to the most expensive.
+ * The adapters are only loaded when their plugin is enabled, so a missing protection plugin costs nothing and
+ * none of its classes is ever touched.
+ */
+
+package jodelle.powermining.protection;
+
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.lib.AreaProtection;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+public class ProtectionChain {
+    // Name of the protection plugin and the adapter used for it
+    private static final String[][] ADAPTERS = {
+            {"WorldGuard", "jodelle.powermining.protection.WorldGuardProtectionProvider"},
+            {"GriefPrevention", "jodelle.powermining.protection.GriefPreventionProtectionProvider"},
+            {"Towny", "jodelle.powermining.protection.TownyProtectionProvider"}
+    };
+
+    private final ProtectionProvider[] providers;
+
+    public ProtectionChain(@Nonnull final ProtectionProvider... providers) {
+        this.providers = providers.clone();
+        Arrays.sort(this.providers, Comparator.comparingInt(ProtectionProvider::getCost));
+    }
+
+    /**
+     * Creates the adapters of the protection plugins that are enabled
+     * @param plugin Instance of the plugin
+     * @return The chain, empty if no protection plugin is enabled
+     */
+    @Nonnull
+    public static ProtectionChain load(@Nonnull final PowerMining plugin) {
+        final ArrayList<ProtectionProvider> providers = new ArrayList<>();
+
+        for (String[] adapter : ADAPTERS) {
+            if (!plugin.getServer().getPluginManager().isPluginEnabled(adapter[0])) {
+                continue;
+            }
+
+            // Loaded by name, so the adapter and the classes it uses are only resolved when the plugin is there
+            try {
+                providers.add(Class.forName(adapter[1]).asSubclass(ProtectionProvider.class).getDeclaredConstructor().newInstance());
+                plugin.getLogger().info(adapter[0] + " found, its protection is checked before breaking blocks.");
+            } catch (ReflectiveOperationException | LinkageError e) {
+                plugin.getLogger().info("Couldn't hook into " + adapter[0] + ", its protection is ignored: " + e);
+            }
+        }
+
+        return new ProtectionChain(providers.toArray(new ProtectionProvider[0]));
+    }
+
+    public boolean isEmpty() {
+        return providers.length == 0;
+    }
+
+    /**
+     * Listens to the changes of claims or regions of every provider that announces them
+     * @param plugin Plugin that registers the listeners
+     * @param onChange Called on the main thread after a change
+     */
+    public void watchChanges(@Nonnull final Plugin plugin, @Nonnull final Runnable onChange) {
+        for (ProtectionProvider provider : providers) {
+            provider.watchChanges(plugin, onChange);
+        }
+    }
+
+    /**
+     * Resolves the protection of the box covered by a swing with every provider
+     * @param player Player who is breaking the blocks
+     * @param world World of the blocks
+     * @return Protection decisions for the box
+     */
+    @Nonnull
+    public AreaProtection resolve(@Nonnull final Player player, @Nonnull final World world,
+                                  final int minX, final int minY, final int minZ, final int maxX, final int maxY, final int maxZ) {
+        final ArrayList<AreaProtection> protections = new ArrayList<>(providers.length);
+        for (ProtectionProvider provider : providers) {
+            final AreaProtection protection = provider.resolve(player, world, minX, minY, minZ, maxX, maxY, maxZ);
+            // Nothing the next providers say can allow a block again
+            if (protection == AreaProtection.DENY_ALL) {
+                return protection;
+            }
+            if (protection != AreaProtection.ALLOW_ALL) {
+                protections.add(protection);
+            }
+        }
+
+        if (protections.isEmpty()) {
+            return AreaProtection.ALLOW_ALL;
+        }
+        if (protections.size() == 1) {
+            return protections.get(0);
+        }
+        return new ChainedProtection(protections.toArray(new AreaProtection[0]));
+    }
+
+    /**
+     * Allows a block only if every provider allows it, stopping at the first denial
+     */
+    private static final class ChainedProtection extends AreaProtection {
+        private final AreaProtection[] protections;
+
+        private ChainedProtection(@Nonnull final AreaProtection[] protections) {
+            this.protections = protections;
+        }
+
+        @Override
+        public boolean canBreak(@Nonnull final Block block) {
+            for (AreaProtection protection : protections) {
+                if (!protection.canBreak(block)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(protections);
+        }
+    }
+}
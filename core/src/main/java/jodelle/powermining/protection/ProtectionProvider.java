@@ -0,0 +1,48 @@
+/*
+ * Adapter between the PowerTools and a protection plugin. A provider decides for a whole swing at once, so it
+ * can fetch the claims or regions around the swing a single time and answer most blocks without asking the
+ * protection plugin again.
+ */
+
+package jodelle.powermining.protection;
+
+import jodelle.powermining.lib.AreaProtection;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import javax.annotation.Nonnull;
+
+public interface ProtectionProvider {
+
+    /**
+     * @return Name of the protection plugin
+     */
+    @Nonnull
+    String getName();
+
+    /**
+     * @return Rough cost of resolving an area, the cheapest providers are asked first
+     */
+    int getCost();
+
+    /**
+     * Resolves the protection of the box covered by a swing
+     * @param player Player who is breaking the blocks
+     * @param world World of the blocks
+     * @return Protection decisions for the box, AreaProtection.ALLOW_ALL or AreaProtection.DENY_ALL when the
+     * player can break either every block of the box or none of them
+     */
+    @Nonnull
+    AreaProtection resolve(@Nonnull final Player player, @Nonnull final World world,
+                           final int minX, final int minY, final int minZ, final int maxX, final int maxY, final int maxZ);
+
+    /**
+     * Listens to the changes of claims or regions, for the protection plugins that announce them
+     * @param plugin Plugin that registers the listeners
+     * @param onChange Called on the main thread after a change
+     */
+    default void watchChanges(@Nonnull final Plugin plugin, @Nonnull final Runnable onChange) {
+        // Nothing announced, the cached decisions simply expire
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * ProtectionProvider backed by Towny. Towny decides per town block and per material, so the last decision is
+ * reused while the swing stays in the same town block with the same kind of block. Towns announce when they
+ * claim, unclaim or change the settings of their town blocks, which drops the cached decisions.
+ */
+
+package jodelle.powermining.protection;
+
+import com.palmergames.bukkit.towny.TownySettings;
+import com.palmergames.bukkit.towny.event.TownBlockSettingsChangedEvent;
+import com.palmergames.bukkit.towny.event.TownClaimEvent;
+import com.palmergames.bukkit.towny.event.town.TownUnclaimEvent;
+import com.palmergames.bukkit.towny.object.TownyPermission;
+import com.palmergames.bukkit.towny.utils.PlayerCacheUtil;
+import jodelle.powermining.lib.AreaProtection;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+
+import javax.annotation.Nonnull;
+
+public final class TownyProtectionProvider implements ProtectionProvider {
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "Towny";
+    }
+
+    @Override
+    public int getCost() {
+        // Backed by Towny's own per player cache
+        return 2;
+    }
+
+    @Nonnull
+    @Override
+    public AreaProtection resolve(@Nonnull final Player player, @Nonnull final World world,
+                                  final int minX, final int minY, final int minZ, final int maxX, final int maxY, final int maxZ) {
+        return new TownProtection(player, TownySettings.getTownBlockSize());
+    }
+
+    @Override
+    public void watchChanges(@Nonnull final Plugin plugin, @Nonnull final Runnable onChange) {
+        plugin.getServer().getPluginManager().registerEvents(new TownListener(onChange), plugin);
+    }
+
+    private static final class TownListener implements Listener {
+        private final Runnable onChange;
+
+        private TownListener(@Nonnull final Runnable onChange) {
+            this.onChange = onChange;
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onTownClaim(TownClaimEvent event) {
+            onChange.run();
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onTownUnclaim(TownUnclaimEvent event) {
+            onChange.run();
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onTownBlockSettingsChanged(TownBlockSettingsChangedEvent event) {
+            onChange.run();
+        }
+    }
+
+    private static final class TownProtection extends AreaProtection {
+        private final Player player;
+        private final int townBlockSize;
+        private boolean hasLast = false;
+        private int lastX;
+        private int lastZ;
+        private Material lastType;
+        private boolean lastDecision;
+
+        private TownProtection(@Nonnull final Player player, final int townBlockSize) {
+            this.player = player;
+            this.townBlockSize = townBlockSize;
+        }
+
+        @Override
+        public boolean canBreak(@Nonnull final Block block) {
+            final int townBlockX = Math.floorDiv(block.getX(), townBlockSize);
+            final int townBlockZ = Math.floorDiv(block.getZ(), townBlockSize);
+            final Material type = block.getType();
+
+            if (!hasLast || townBlockX != lastX || townBlockZ != lastZ || type != lastType) {
+                lastDecision = PlayerCacheUtil.getCachePermission(player, block.getLocation(), type, TownyPermission.ActionType.DESTROY);
+                lastX = townBlockX;
+                lastZ = townBlockZ;
+                lastType = type;
+                hasLast = true;
+            }
+            return lastDecision;
+        }
+
+        @Override
+        public String toString() {
+            return "Towny";
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * WorldGuard protection for the bounding box of a PowerTool swing.
+ * The regions overlapping the box are fetched once. Regions that cover the whole box apply to every block,
+ * so blocks outside of every partially overlapping region share a single decision. Only the blocks that
+ * might fall inside a partially overlapping region are checked one by one, and a box without any of them
+ * is decided as a whole.
+ */
+
+package jodelle.powermining.protection;
+
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldguard.LocalPlayer;
+import com.sk89q.worldguard.WorldGuard;
+import com.sk89q.worldguard.bukkit.WorldGuardPlugin;
+import com.sk89q.worldguard.protection.flags.Flags;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import com.sk89q.worldguard.protection.regions.RegionContainer;
+import com.sk89q.worldguard.protection.regions.RegionQuery;
+import com.sk89q.worldguard.protection.regions.RegionType;
+import jodelle.powermining.lib.AreaProtection;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+
+final class WorldGuardAreaProtection extends AreaProtection {
+    private static final String AREA_REGION_ID = "jpm_area";
+
+    private final LocalPlayer localPlayer;
+    private final RegionQuery query;
+    // Bounding boxes of the regions that only overlap part of the area, 6 ints per region
+    private final int[] partialBoxes;
+    private Boolean uniformDecision;
+
+    private WorldGuardAreaProtection(@Nonnull final LocalPlayer localPlayer, @Nonnull final RegionQuery query, @Nonnull final int[] partialBoxes) {
+        this.localPlayer = localPlayer;
+        this.query = query;
+        this.partialBoxes = partialBoxes;
+    }
+
+    @Nonnull
+    static AreaProtection create(@Nonnull final Player player, @Nonnull final World world,
+                                 final int minX, final int minY, final int minZ, final int maxX, final int maxY, final int maxZ) {
+        final LocalPlayer localPlayer = WorldGuardPlugin.inst().wrapPlayer(player);
+        final RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
+        final RegionManager manager = container.get(BukkitAdapter.adapt(world));
+
+        final ArrayList<ProtectedRegion> partialRegions = new ArrayList<>();
+        if (manager != null) {
+            final BlockVector3 min = BlockVector3.at(minX, minY, minZ);
+            final BlockVector3 max = BlockVector3.at(maxX, maxY, maxZ);
+            final ProtectedRegion area = new ProtectedCuboidRegion(AREA_REGION_ID, min, max);
+
+            for (ProtectedRegion region : manager.getApplicableRegions(area)) {
+                if (!coversArea(region, min, max)) {
+                    partialRegions.add(region);
+                }
+            }
+        }
+
+        final int[] partialBoxes = new int[partialRegions.size() * 6];
+        for (int i = 0; i < partialRegions.size(); i++) {
+            final BlockVector3 regionMin = partialRegions.get(i).getMinimumPoint();
+            final BlockVector3 regionMax = partialRegions.get(i).getMaximumPoint();
+            partialBoxes[i * 6] = regionMin.getBlockX();
+            partialBoxes[i * 6 + 1] = regionMin.getBlockY();
+            partialBoxes[i * 6 + 2] = regionMin.getBlockZ();
+            partialBoxes[i * 6 + 3] = regionMax.getBlockX();
+            partialBoxes[i * 6 + 4] = regionMax.getBlockY();
+            partialBoxes[i * 6 + 5] = regionMax.getBlockZ();
+        }
+
+        final WorldGuardAreaProtection protection = new WorldGuardAreaProtection(localPlayer, container.createQuery(), partialBoxes);
+        if (partialBoxes.length > 0) {
+            return protection;
+        }
+
+        // The same regions apply to every block of the box, a single test decides for all of them
+        return protection.test(world.getBlockAt(minX, minY, minZ)) ? ALLOW_ALL : DENY_ALL;
+    }
+
+    /**
+     * @return True if the region applies to every block between min and max
+     */
+    private static boolean coversArea(@Nonnull final ProtectedRegion region, @Nonnull final BlockVector3 min, @Nonnull final BlockVector3 max) {
+        if (region.getType() == RegionType.GLOBAL) {
+            return true;
+        }
+        // Only a cuboid is guaranteed to contain the whole box when it contains both corners
+        return region.getType() == RegionType.CUBOID && region.contains(min) && region.contains(max);
+    }
+
+    @Override
+    public boolean canBreak(@Nonnull final Block block) {
+        if (insidePartialRegion(block.getX(), block.getY(), block.getZ())) {
+            return test(block);
+        }
+
+        // Every block outside of the partial regions is affected by exactly the same regions
+        if (uniformDecision == null) {
+            uniformDecision = test(block);
+        }
+        return uniformDecision;
+    }
+
+    private boolean insidePartialRegion(final int x, final int y, final int z) {
+        for (int i = 0; i < partialBoxes.length; i += 6) {
+            if (x >= partialBoxes[i] && y >= partialBoxes[i + 1] && z >= partialBoxes[i + 2]
+                    && x <= partialBoxes[i + 3] && y <= partialBoxes[i + 4] && z <= partialBoxes[i + 5]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean test(@Nonnull final Block block) {
+        return query.testBuild(BukkitAdapter.adapt(block.getLocation()), localPlayer, Flags.BUILD);
+    }
+
+    @Override
+    public String toString() {
+        return "WorldGuard(" + partialBoxes.length / 6 + " partial regions)";
+    }
+}
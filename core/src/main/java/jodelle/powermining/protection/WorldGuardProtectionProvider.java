@@ -0,0 +1,33 @@
+/*
+ * ProtectionProvider backed by WorldGuard regions
+ */
+
+package jodelle.powermining.protection;
+
+import jodelle.powermining.lib.AreaProtection;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nonnull;
+
+public final class WorldGuardProtectionProvider implements ProtectionProvider {
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "WorldGuard";
+    }
+
+    @Override
+    public int getCost() {
+        // Queries the region index of the world
+        return 3;
+    }
+
+    @Nonnull
+    @Override
+    public AreaProtection resolve(@Nonnull final Player player, @Nonnull final World world,
+                                  final int minX, final int minY, final int minZ, final int maxX, final int maxY, final int maxZ) {
+        return WorldGuardAreaProtection.create(player, world, minX, minY, minZ, maxX, maxY, maxZ);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * BreakJob used by the Hammers and Excavators, breaks every planned block that matches the tool
+ */
+
+package jodelle.powermining.scheduler;
+
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.journal.EditRecord;
+import jodelle.powermining.lib.AreaProtection;
+import jodelle.powermining.lib.LongHashSet;
+import jodelle.powermining.lib.PackedPos;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+public class AreaBreakJob extends SwingBreakJob {
+    private final Material[] plannedTypes;
+    private final AreaProtection protection;
+    // Blocks before this index are surrounded by the area, they are broken without updating their neighbours
+    private final int shellStart;
+    // Only used with the physics deferred: the blocks that were broken, and the ones skipped when applied
+    private final LongHashSet broken;
+    private final LongHashSet skipped;
+
+    /**
+     * @param plugin Instance of the plugin
+     * @param player Player who swung the tool
+     * @param handItem Tool used
+     * @param world World of the blocks
+     * @param area Blocks planned for the swing
+     * @param dropLocation Where merged items are dropped, usually the center of the broken block
+     * @param durability Uses of the tool held for the swing, null if the blocks don't cost durability
+     * @param record Receives the blocks before they are broken, null if the swing isn't journaled
+     */
+    public AreaBreakJob(@Nonnull final PowerMining plugin, @Nonnull final Player player, @Nonnull final ItemStack handItem,
+                        @Nonnull final World world, @Nonnull final AreaPlanner.PlannedArea area, @Nonnull final Location dropLocation,
+                        @Nullable final DurabilityLedger.Hold durability, @Nullable final EditRecord record) {
+        super(plugin, player, handItem, world, area.getPositions(), area.size(), dropLocation, durability, record);
+        this.plannedTypes = area.getTypes();
+
+        // The job shares the arrays of the area, so sorting the area reorders the job too
+        this.shellStart = config.isDeferPhysics() ? area.sortForBulkApply() : 0;
+        this.broken = shellStart > 0 ? new LongHashSet(area.size()) : null;
+        this.skipped = shellStart > 0 ? new LongHashSet(16) : null;
+
+        // The protection of the whole area is resolved once, when the swing is queued
+        protection = AreaProtection.resolve(plugin, player, world, area.getPositions(), area.size());
+    }
+
+    @Override
+    protected boolean apply(@Nonnull final Block block, @Nonnull final Material blockType, final int index) {
+        // The block was checked against the tool when it was planned, skip it if it changed since then
+        if (blockType != plannedTypes[index]) {
+            return skip(index);
+        }
+
+        // Check if player has permission to break the block
+        plugin.getMetrics().protectionChecks.inc();
+        if (!protection.canBreak(block)) {
+            plugin.getMetrics().protectionDenials.inc();
+            return skip(index);
+        }
+
+        // The inner blocks only have neighbours of the same swing, the updates of the outer shell,
+        // broken last, reach every block around the area. A block next to one that stays updates it itself.
+        final long pos = getPositions()[index];
+        breakAndCount(block, index >= shellStart || nextTo(skipped, pos));
+        if (broken != null) {
+            broken.add(pos);
+        }
+        return true;
+    }
+
+    @Override
+    protected void finish() {
+        if (broken != null) {
+            updateAroundUnbroken();
+        }
+        super.finish();
+    }
+
+    /**
+     * Remembers a planned block that stays, its neighbours can't count on it to update the blocks around
+     * @param index Position of the block in the job
+     * @return False, the block was skipped
+     */
+    private boolean skip(final int index) {
+        if (skipped != null) {
+            skipped.add(getPositions()[index]);
+        }
+        return false;
+    }
+
+    /**
+     * Sends the updates the inner blocks held back when some blocks of the area weren't broken: skipped after
+     * their neighbours were broken, in an unloaded chunk, or left when the job was stopped early
+     */
+    private void updateAroundUnbroken() {
+        if (broken.size() == size()) {
+            return;
+        }
+
+        final long[] positions = getPositions();
+        for (int i = 0; i < shellStart; i++) {
+            final long pos = positions[i];
+            if (!broken.contains(pos) || !hasUnbrokenNeighbour(pos)) {
+                continue;
+            }
+
+            final int x = PackedPos.x(pos);
+            final int z = PackedPos.z(pos);
+            if (!world.isChunkLoaded(x >> 4, z >> 4)) {
+                continue;
+            }
+
+            // Setting the same block again doesn't update anything, so the air is swapped to update its neighbours
+            final Block block = world.getBlockAt(x, PackedPos.y(pos), z);
+            if (block.getType() == Material.AIR) {
+                block.setType(Material.CAVE_AIR, false);
+                block.setType(Material.AIR, true);
+            }
+        }
+    }
+
+    private boolean hasUnbrokenNeighbour(final long pos) {
+        final int x = PackedPos.x(pos);
+        final int y = PackedPos.y(pos);
+        final int z = PackedPos.z(pos);
+        return !broken.contains(PackedPos.pack(x + 1, y, z))
+                || !broken.contains(PackedPos.pack(x - 1, y, z))
+                || !broken.contains(PackedPos.pack(x, y + 1, z))
+                || !broken.contains(PackedPos.pack(x, y - 1, z))
+                || !broken.contains(PackedPos.pack(x, y, z + 1))
+                || !broken.contains(PackedPos.pack(x, y, z - 1));
+    }
+
+    /**
+     * @param positions Packed positions, null when the physics aren't deferred
+     * @param pos Packed position of a block
+     * @return True if one of the 6 neighbours of the block is in the positions
+     */
+    private static boolean nextTo(@Nullable final LongHashSet positions, final long pos) {
+        if (positions == null || positions.size() == 0) {
+            return false;
+        }
+
+        final int x = PackedPos.x(pos);
+        final int y = PackedPos.y(pos);
+        final int z = PackedPos.z(pos);
+        return positions.contains(PackedPos.pack(x + 1, y, z))
+                || positions.contains(PackedPos.pack(x - 1, y, z))
+                || positions.contains(PackedPos.pack(x, y + 1, z))
+                || positions.contains(PackedPos.pack(x, y - 1, z))
+                || positions.contains(PackedPos.pack(x, y, z + 1))
+                || positions.contains(PackedPos.pack(x, y, z - 1));
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Works out which blocks of a PowerTool swing can actually be broken before the swing is queued.
+ * Big areas are planned on worker threads from ChunkSnapshots, so the main thread only has to capture
+ * the snapshots and later re-verify and break the blocks that were kept.
+ */
+
+package jodelle.powermining.scheduler;
+
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.lib.ChunkLoader;
+import jodelle.powermining.lib.LongHashSet;
+import jodelle.powermining.lib.PackedPos;
+import jodelle.powermining.lib.PluginConfig;
+import jodelle.powermining.lib.RuleMatrix;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class AreaPlanner {
+    private final PowerMining plugin;
+    private final ThreadPoolExecutor workers;
+
+    /**
+     * Blocks of a swing that matched the tool when they were planned
+     */
+    public static final class PlannedArea {
+        private final long[] positions;
+        private final Material[] types;
+        private int size = 0;
+
+        private PlannedArea(final int capacity) {
+            positions = new long[capacity];
+            types = new Material[capacity];
+        }
+
+        private void add(final long pos, @Nonnull final Material type) {
+            positions[size] = pos;
+            types[size] = type;
+            size++;
+        }
+
+        @Nonnull
+        public long[] getPositions() {
+            return positions;
+        }
+
+        /**
+         * @return Type of each block when it was planned, used to detect blocks that changed before being broken
+         */
+        @Nonnull
+        public Material[] getTypes() {
+            return types;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Reorders the blocks to be applied with the physics deferred. The blocks with every neighbour in the area
+         * come first, then the ones on the outer shell of the area. Each group is ordered by chunk section.
+         * @return Index of the first block of the outer shell
+         */
+        int sortForBulkApply() {
+            final LongHashSet members = new LongHashSet(size);
+            int minChunkX = Integer.MAX_VALUE;
+            int minChunkZ = Integer.MAX_VALUE;
+            int minSection = Integer.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                final long pos = positions[i];
+                members.add(pos);
+                minChunkX = Math.min(minChunkX, PackedPos.x(pos) >> 4);
+                minChunkZ = Math.min(minChunkZ, PackedPos.z(pos) >> 4);
+                minSection = Math.min(minSection, PackedPos.y(pos) >> 4);
+            }
+
+            // Shell flag, then the section relative to the corner of the area, then the original index
+            final long[] keys = new long[size];
+            int shell = 0;
+            for (int i = 0; i < size; i++) {
+                final long pos = positions[i];
+                final int x = PackedPos.x(pos);
+                final int y = PackedPos.y(pos);
+                final int z = PackedPos.z(pos);
+                final boolean onShell = !members.contains(PackedPos.pack(x + 1, y, z))
+                        || !members.contains(PackedPos.pack(x - 1, y, z))
+                        || !members.contains(PackedPos.pack(x, y + 1, z))
+                        || !members.contains(PackedPos.pack(x, y - 1, z))
+                        || !members.contains(PackedPos.pack(x, y, z + 1))
+                        || !members.contains(PackedPos.pack(x, y, z - 1));
+                if (onShell) {
+                    shell++;
+                }
+
+                keys[i] = (onShell ? 1L << 62 : 0L)
+                        | ((long) (((x >> 4) - minChunkX) & 0x3FF) << 52)
+                        | ((long) (((z >> 4) - minChunkZ) & 0x3FF) << 42)
+                        | ((long) (((y >> 4) - minSection) & 0x3FF) << 32)
+                        | i;
+            }
+            Arrays.sort(keys);
+
+            final long[] oldPositions = Arrays.copyOf(positions, size);
+            final Material[] oldTypes = Arrays.copyOf(types, size);
+            for (int i = 0; i < size; i++) {
+                final int from = (int) (keys[i] & 0xFFFFFFFFL);
+                positions[i] = oldPositions[from];
+                types[i] = oldTypes[from];
+            }
+            return size - shell;
+        }
+    }
+
+    public AreaPlanner(@Nonnull final PowerMining plugin) {
+        this.plugin = plugin;
+
+        final int threads = plugin.getPluginConfig().getPlannerThreads();
+        final AtomicInteger threadCount = new AtomicInteger();
+        workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "JodellePowerMining-Planner-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Changes the number of worker threads, the swings being planned are not affected
+     * @param threads New number of threads
+     */
+    public void resize(final int threads) {
+        if (threads > workers.getMaximumPoolSize()) {
+            workers.setMaximumPoolSize(threads);
+            workers.setCorePoolSize(threads);
+        } else {
+            workers.setCorePoolSize(threads);
+            workers.setMaximumPoolSize(threads);
+        }
+    }
+
+    /**
+     * Plans the blocks of a swing. Small areas are planned right away, big ones on a worker thread.
+     * Either way the callback runs on the main thread, with an empty area if the swing can't be planned anymore.
+     * @param world World of the blocks
+     * @param toolType Type of the tool used
+     * @param candidates Packed positions of every block the swing covers
+     * @param callback Receives the blocks that can be broken with the tool
+     */
+    public void plan(@Nonnull final World world, @Nonnull final Material toolType, @Nonnull final long[] candidates,
+                     @Nonnull final Consumer<PlannedArea> callback) {
+        plan(world, toolType, candidates, callback, true);
+    }
+
+    /**
+     * @param preload True to request the unloaded chunks and plan the swing once they arrive, false to leave them out
+     */
+    private void plan(@Nonnull final World world, @Nonnull final Material toolType, @Nonnull final long[] swing,
+                      @Nonnull final Consumer<PlannedArea> callback, final boolean preload) {
+        // A swing must never load a chunk on the main thread
+        final long[] unloaded = ChunkLoader.unloadedChunks(world, swing, swing.length);
+        if (unloaded != null && preload && plugin.getPlatform().canLoadAsync()) {
+            // The player is waiting for the swing
+            plugin.getPlatform().loadChunks(plugin, world, unloaded, true, () -> plan(world, toolType, swing, callback, false));
+            return;
+        }
+        final long[] candidates = unloaded == null ? swing : withoutUnloaded(world, swing);
+
+        final PluginConfig config = plugin.getPluginConfig();
+        final RuleMatrix rules = config.getRules();
+        plugin.getMetrics().blocksEvaluated.add(candidates.length);
+        final int minHeight = world.getMinHeight();
+        final int maxHeight = world.getMaxHeight();
+
+        if (candidates.length < config.getPlannerAsyncThreshold()) {
+            final PlannedArea area = new PlannedArea(candidates.length);
+            for (long pos : candidates) {
+                final int y = PackedPos.y(pos);
+                if (y < minHeight || y >= maxHeight) {
+                    continue;
+                }
+
+                final Material type = world.getType(PackedPos.x(pos), y, PackedPos.z(pos));
+                if (matches(rules, toolType, type)) {
+                    area.add(pos, type);
+                }
+            }
+            callback.accept(area);
+            return;
+        }
+
+        // Snapshots have to be taken on the main thread, everything else can be done by the workers
+        final HashMap<Long, ChunkSnapshot> snapshots = new HashMap<>();
+        for (long pos : candidates) {
+            final long chunkKey = PackedPos.chunkKey(pos);
+            if (!snapshots.containsKey(chunkKey)) {
+                snapshots.put(chunkKey, world.getChunkAt(PackedPos.x(pos) >> 4, PackedPos.z(pos) >> 4).getChunkSnapshot(false, false, false));
+            }
+        }
+
+        try {
+            workers.execute(() -> {
+                final PlannedArea area = new PlannedArea(candidates.length);
+                for (long pos : candidates) {
+                    final int y = PackedPos.y(pos);
+                    if (y < minHeight || y >= maxHeight) {
+                        continue;
+                    }
+
+                    final ChunkSnapshot snapshot = snapshots.get(PackedPos.chunkKey(pos));
+                    final Material type = snapshot.getBlockType(PackedPos.x(pos) & 15, y, PackedPos.z(pos) & 15);
+                    if (matches(rules, toolType, type)) {
+                        area.add(pos, type);
+                    }
+                }
+
+                // A disabled plugin can't run tasks anymore, the queues the swing was admitted to are dropped with it
+                if (plugin.isEnabled()) {
+                    plugin.getServer().getScheduler().runTask(plugin, () -> callback.accept(area));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The plugin is being disabled, the swing is planned empty so its caller still gives back what it held
+            callback.accept(new PlannedArea(0));
+        }
+    }
+
+    /**
+     * @return The positions whose chunk is loaded
+     */
+    @Nonnull
+    private long[] withoutUnloaded(@Nonnull final World world, @Nonnull final long[] candidates) {
+        final long[] loaded = new long[candidates.length];
+        int size = 0;
+        for (long pos : candidates) {
+            if (ChunkLoader.isLoaded(world, pos)) {
+                loaded[size++] = pos;
+            }
+        }
+        plugin.getMetrics().unloadedBlocks.add(candidates.length - size);
+        return Arrays.copyOf(loaded, size);
+    }
+
+    private static boolean matches(@Nonnull final RuleMatrix rules, @Nonnull final Material toolType, @Nonnull final Material blockType) {
+        return rules.canMine(toolType, blockType) || rules.canDig(toolType, blockType);
+    }
+
+    /**
+     * Stops the worker threads, the swings that are still being planned are dropped
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
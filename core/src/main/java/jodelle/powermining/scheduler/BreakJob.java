@@ -0,0 +1,157 @@
+/*
+ * A unit of queued work created by a PowerTool swing or a rollback. The BreakScheduler applies it a few blocks
+ * at a time so a single swing never has to be finished in the tick it was started.
+ */
+
+package jodelle.powermining.scheduler;
+
+import jodelle.powermining.lib.PackedPos;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.UUID;
+
+public abstract class BreakJob {
+    private final UUID ownerId;
+    protected final World world;
+    private long[] positions;
+    private int size;
+    private int cursor = 0;
+    private boolean discarded = false;
+
+    /**
+     * @param ownerId Id of whoever started the job, each owner has its own queue
+     * @param world World of the blocks
+     * @param positions Packed positions of the blocks, see PackedPos
+     * @param size How many positions are used
+     */
+    protected BreakJob(@Nonnull final UUID ownerId, @Nonnull final World world, @Nonnull final long[] positions, final int size) {
+        this.ownerId = ownerId;
+        this.world = world;
+        this.positions = positions;
+        this.size = size;
+    }
+
+    /**
+     * Applies the job to the block
+     * @param block Block to be changed
+     * @param blockType Current type of the block
+     * @param index Position of the block in the job
+     * @return True if the block was actually changed, false if it was skipped
+     */
+    protected abstract boolean apply(@Nonnull final Block block, @Nonnull final Material blockType, final int index);
+
+    /**
+     * @return False if the job should be dropped instead of applied, like when its player left
+     */
+    protected boolean isActive() {
+        return true;
+    }
+
+    /**
+     * Asked on each turn of the job before its blocks are applied, the job is skipped until it returns true.
+     * Not asked when the queues are drained, the job is then applied as it is.
+     * @return False if the job is still waiting for something, like its chunks to be loaded
+     */
+    protected boolean isReady() {
+        return true;
+    }
+
+    /**
+     * Called once after the last block of the job was applied
+     */
+    protected void finish() {
+    }
+
+    /**
+     * Applies the job to the next block. A skipped block still costs 1, looking it up isn't free, so a job made of
+     * skipped blocks is spread over the ticks like any other.
+     * @param weights Cost of each material, indexed by its ordinal
+     * @return Cost of the block, 0 if the job has no block left
+     */
+    int step(@Nonnull final int[] weights) {
+        if (cursor >= size) {
+            return 0;
+        }
+
+        final int index = cursor++;
+        final long pos = positions[index];
+
+        // The chunk might have been unloaded since the job was queued, it's never loaded back for a single block
+        if (!world.isChunkLoaded(PackedPos.x(pos) >> 4, PackedPos.z(pos) >> 4)) {
+            return 1;
+        }
+
+        final Block block = world.getBlockAt(PackedPos.x(pos), PackedPos.y(pos), PackedPos.z(pos));
+        final Material blockType = block.getType();
+
+        return apply(block, blockType, index) ? weights[blockType.ordinal()] : 1;
+    }
+
+    /**
+     * Adds a block at the end of the job, used by jobs that find their blocks while they are applied.
+     * Ignored once the job was discarded.
+     * @param pos Packed position of the block, see PackedPos
+     */
+    protected void enqueue(final long pos) {
+        if (discarded) {
+            return;
+        }
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, Math.max(16, size * 2));
+        }
+        positions[size++] = pos;
+    }
+
+    /**
+     * Skips every block left in the job
+     */
+    void discard() {
+        discarded = true;
+        cursor = size;
+    }
+
+    @Nonnull
+    public UUID getOwnerId() {
+        return ownerId;
+    }
+
+    @Nonnull
+    public World getWorld() {
+        return world;
+    }
+
+    @Nonnull
+    protected long[] getPositions() {
+        return positions;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int remaining() {
+        return size - cursor;
+    }
+
+    /**
+     * @return Most blocks the job can still add to itself through enqueue
+     */
+    protected int growth() {
+        return 0;
+    }
+
+    /**
+     * @return Blocks the job can still apply, the ones it may still find included. Counted against the queue limits.
+     */
+    int pending() {
+        return isDone() ? 0 : remaining() + growth();
+    }
+
+    public boolean isDone() {
+        return cursor >= size;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Applies the queued BreakJobs on the main thread, spending at most a fixed number of blocks per tick
+ * across the whole server. Players take turns one block at a time so a big swing can't starve the others.
+ */
+
+package jodelle.powermining.scheduler;
+
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.lib.PluginConfig;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.UUID;
+
+public class BreakScheduler extends BukkitRunnable {
+    // Returned by stepNext when the job at the head of the queue isn't ready
+    private static final int WAITING = -1;
+
+    private final PowerMining plugin;
+
+    private final HashMap<UUID, ArrayDeque<BreakJob>> queues = new HashMap<>();
+    private final ArrayDeque<UUID> rotation = new ArrayDeque<>();
+    private int queuedBlocks = 0;
+    // Swings admitted but still being planned, they count towards the limits like the queued jobs
+    private final HashMap<UUID, Integer> reservedJobs = new HashMap<>();
+    private int reservedBlocks = 0;
+
+    public BreakScheduler(@Nonnull final PowerMining plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts applying the queued jobs, once every tick
+     */
+    public void start() {
+        runTaskTimer(plugin, 1L, 1L);
+    }
+
+    /**
+     * Admits a swing before it's planned, holding its place in the queues until it's submitted or released
+     * @param ownerId Id of the player who swung the tool
+     * @param blocks Most blocks the job can have once planned
+     * @return The reservation, null if the player's queue or the server's queue is full
+     */
+    @Nullable
+    public Reservation reserve(@Nonnull final UUID ownerId, final int blocks) {
+        if (!fits(ownerId, blocks)) {
+            return null;
+        }
+
+        reservedJobs.merge(ownerId, 1, Integer::sum);
+        reservedBlocks += blocks;
+        return new Reservation(ownerId, blocks);
+    }
+
+    /**
+     * Gives back the place of a swing that won't be submitted, like when its player left during the planning
+     * @param reservation Reservation of the swing
+     */
+    public void release(@Nonnull final Reservation reservation) {
+        if (reservation.released) {
+            return;
+        }
+        reservation.released = true;
+
+        reservedBlocks -= reservation.blocks;
+        reservedJobs.computeIfPresent(reservation.ownerId, (id, jobs) -> jobs > 1 ? jobs - 1 : null);
+    }
+
+    /**
+     * Queues the job of an admitted swing, it's never rejected
+     * @param reservation Reservation made for the swing
+     * @param job Job to be queued
+     */
+    public void submit(@Nonnull final Reservation reservation, @Nonnull final BreakJob job) {
+        release(reservation);
+        submit(job, true);
+    }
+
+    /**
+     * Queues a job to be applied over the next ticks
+     * @param job Job to be queued
+     * @return False if the queues are full and the job was rejected
+     */
+    public boolean submit(@Nonnull final BreakJob job) {
+        return submit(job, false);
+    }
+
+    /**
+     * Queues a job to be applied over the next ticks
+     * @param job Job to be queued
+     * @param ignoreLimits True to queue the job even if the queues are full, it's still applied within the tick budget
+     * @return False if the queues are full and the job was rejected
+     */
+    public boolean submit(@Nonnull final BreakJob job, final boolean ignoreLimits) {
+        if (job.isDone()) {
+            job.finish();
+            return true;
+        }
+
+        final UUID playerId = job.getOwnerId();
+        if (!ignoreLimits && !fits(playerId, job.pending())) {
+            return false;
+        }
+
+        ArrayDeque<BreakJob> queue = queues.get(playerId);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            queues.put(playerId, queue);
+            rotation.add(playerId);
+        }
+
+        queue.add(job);
+        queuedBlocks += job.pending();
+        return true;
+    }
+
+    /**
+     * Checks the limits of the queues, counting the reserved swings as if they were queued
+     * @param ownerId Id of whoever starts the job
+     * @param blocks Blocks of the job
+     * @return True if the job can be queued
+     */
+    private boolean fits(@Nonnull final UUID ownerId, final int blocks) {
+        final PluginConfig config = plugin.getPluginConfig();
+        final ArrayDeque<BreakJob> queue = queues.get(ownerId);
+        final int jobs = (queue == null ? 0 : queue.size()) + reservedJobs.getOrDefault(ownerId, 0);
+        if (jobs >= config.getMaxJobsPerPlayer()) {
+            return false;
+        }
+
+        // An empty server always accepts one job, otherwise a huge area could never be queued
+        final int waiting = queuedBlocks + reservedBlocks;
+        return waiting == 0 || waiting + blocks <= config.getMaxQueuedBlocks();
+    }
+
+    @Override
+    public void run() {
+        if (rotation.isEmpty()) {
+            return;
+        }
+
+        final long start = System.nanoTime();
+        final PluginConfig config = plugin.getPluginConfig();
+        final int[] weights = config.getBlockWeights();
+        int budget = config.getBlocksPerTick();
+
+        // Stops once every queue is waiting, none of them can be applied before the next tick
+        int waiting = 0;
+        while (budget > 0 && waiting < rotation.size()) {
+            final int cost = stepNext(weights, true);
+            if (cost == WAITING) {
+                waiting++;
+            } else {
+                waiting = 0;
+                budget -= cost;
+            }
+        }
+        plugin.getMetrics().schedulerTick.recordSince(start);
+    }
+
+    /**
+     * Applies every job left in the queues, ignoring the tick budget. Used when the plugin is disabled.
+     */
+    public void drain() {
+        if (!isCancelled()) {
+            cancel();
+        }
+
+        final int[] weights = plugin.getPluginConfig().getBlockWeights();
+        while (!rotation.isEmpty()) {
+            stepNext(weights, false);
+        }
+    }
+
+    /**
+     * Applies one block of the job at the head of the next player's queue
+     * @param weights Cost of each block type indexed by Material ordinal
+     * @param wait False to apply the job even if it isn't ready
+     * @return Cost of the applied block, WAITING if the job isn't ready
+     */
+    private int stepNext(@Nonnull final int[] weights, final boolean wait) {
+        final UUID playerId = rotation.poll();
+        final ArrayDeque<BreakJob> queue = queues.get(playerId);
+        final BreakJob job = queue.peek();
+        final int before = job.pending();
+        int cost = 0;
+
+        if (wait && job.isActive() && !job.isReady()) {
+            rotation.add(playerId);
+            return WAITING;
+        }
+
+        if (job.isActive()) {
+            cost = job.step(weights);
+        } else {
+            job.discard();
+        }
+
+        queuedBlocks -= before - job.pending();
+
+        if (job.isDone()) {
+            queue.poll();
+            job.finish();
+        }
+
+        if (queue.isEmpty()) {
+            queues.remove(playerId);
+        } else {
+            rotation.add(playerId);
+        }
+
+        return cost;
+    }
+
+    /**
+     * @return Number of blocks waiting to be applied
+     */
+    public int getQueuedBlocks() {
+        return queuedBlocks;
+    }
+
+    /**
+     * Place held in the queues by a swing that is still being planned
+     */
+    public static final class Reservation {
+        private final UUID ownerId;
+        private final int blocks;
+        private boolean released = false;
+
+        private Reservation(@Nonnull final UUID ownerId, final int blocks) {
+            this.ownerId = ownerId;
+            this.blocks = blocks;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Chunk tickets of the plugin, counted per chunk. Several jobs can keep the same chunk loaded, the ticket is only
+ * added by the first of them and only removed once the last one is finished. Only used on the main thread.
+ */
+
+package jodelle.powermining.scheduler;
+
+import jodelle.powermining.lib.PackedPos;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.UUID;
+
+public final class ChunkTickets {
+    private final Plugin plugin;
+    // Jobs holding each chunk, by world id and chunk key, see PackedPos.chunkKey
+    private final HashMap<UUID, HashMap<Long, Integer>> holders = new HashMap<>();
+
+    public ChunkTickets(@Nonnull final Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Keeps the chunks loaded. The ones that aren't loaded are left out, a ticket would load them on the main thread.
+     * @param world World of the chunks
+     * @param chunkKeys Keys of the chunks, see PackedPos.chunkKey
+     * @return Keys of the chunks held, to be given back to release
+     */
+    @Nonnull
+    public long[] acquire(@Nonnull final World world, @Nonnull final long[] chunkKeys) {
+        final HashMap<Long, Integer> worldHolders = holders.computeIfAbsent(world.getUID(), id -> new HashMap<>());
+        final long[] held = new long[chunkKeys.length];
+        int count = 0;
+
+        for (long chunkKey : chunkKeys) {
+            final int chunkX = PackedPos.chunkX(chunkKey);
+            final int chunkZ = PackedPos.chunkZ(chunkKey);
+            if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                continue;
+            }
+
+            if (worldHolders.merge(chunkKey, 1, Integer::sum) == 1) {
+                world.addPluginChunkTicket(chunkX, chunkZ, plugin);
+            }
+            held[count++] = chunkKey;
+        }
+
+        if (worldHolders.isEmpty()) {
+            holders.remove(world.getUID());
+        }
+        return count == held.length ? held : Arrays.copyOf(held, count);
+    }
+
+    /**
+     * Lets the chunks unload once no other job holds them
+     * @param world World of the chunks
+     * @param chunkKeys Keys returned by acquire
+     */
+    public void release(@Nonnull final World world, @Nonnull final long[] chunkKeys) {
+        final HashMap<Long, Integer> worldHolders = holders.get(world.getUID());
+        if (worldHolders == null) {
+            return;
+        }
+
+        for (long chunkKey : chunkKeys) {
+            if (worldHolders.computeIfPresent(chunkKey, (key, jobs) -> jobs > 1 ? jobs - 1 : null) == null) {
+                world.removePluginChunkTicket(PackedPos.chunkX(chunkKey), PackedPos.chunkZ(chunkKey), plugin);
+            }
+        }
+
+        if (worldHolders.isEmpty()) {
+            holders.remove(world.getUID());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Durability held by the queued swings of each player. The damage of a swing is only written once its job is
+ * finished, so a new swing only gets what the swings still in flight left of the tool, and a worn out tool can't
+ * be spent several times over by queued swings. Tools are told apart by their hotbar slot.
+ */
+
+package jodelle.powermining.scheduler;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.UUID;
+
+public final class DurabilityLedger {
+    private static final int HOTBAR_SLOTS = 9;
+
+    // Indexed by hotbar slot, only for the players with swings in flight
+    private final HashMap<UUID, int[]> held = new HashMap<>();
+
+    /**
+     * @param playerId Id of the player
+     * @param slot Hotbar slot of the tool
+     * @return Uses held by the player's swings still in flight
+     */
+    public int getHeld(@Nonnull final UUID playerId, final int slot) {
+        final int[] slots = held.get(playerId);
+        return slots == null ? 0 : slots[slot];
+    }
+
+    /**
+     * Holds uses of the tool for a swing, until its job is finished
+     * @param playerId Id of the player
+     * @param slot Hotbar slot of the tool
+     * @param uses Most uses the swing may spend
+     * @return The hold, to be released once the damage is written
+     */
+    @Nonnull
+    public Hold hold(@Nonnull final UUID playerId, final int slot, final int uses) {
+        held.computeIfAbsent(playerId, id -> new int[HOTBAR_SLOTS])[slot] += uses;
+        return new Hold(playerId, slot, uses);
+    }
+
+    /**
+     * Gives back the uses of a swing, after its damage was written or when it was dropped
+     * @param hold Hold of the swing
+     */
+    public void release(@Nonnull final Hold hold) {
+        if (hold.released) {
+            return;
+        }
+        hold.released = true;
+
+        final int[] slots = held.get(hold.playerId);
+        if (slots == null) {
+            return;
+        }
+        slots[hold.slot] -= hold.uses;
+        for (int slotUses : slots) {
+            if (slotUses > 0) {
+                return;
+            }
+        }
+        held.remove(hold.playerId);
+    }
+
+    /**
+     * Uses of a tool held by a single swing
+     */
+    public static final class Hold {
+        private final UUID playerId;
+        private final int slot;
+        private final int uses;
+        private boolean released = false;
+
+        private Hold(@Nonnull final UUID playerId, final int slot, final int uses) {
+            this.playerId = playerId;
+            this.slot = slot;
+            this.uses = uses;
+        }
+
+        /**
+         * @return Most uses the swing may spend
+         */
+        public int getUses() {
+            return uses;
+        }
+
+        /**
+         * @return Hotbar slot of the tool, the one emptied if the tool breaks
+         */
+        public int getSlot() {
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * BreakJob used by /jpm rollback, puts back the blocks of a journaled swing. Only positions that are still empty
+ * are restored, so whatever was built there since the swing is left alone. The rollback usually runs far away from
+ * the admin who asked for it, so the chunks of the swing are loaded when the job gets its first turn, off the main
+ * thread when the server can, and kept loaded until the job is finished. The jobs left when the plugin is disabled
+ * are dropped, the rollback is told it was cut short instead of restoring them all at once on the main thread.
+ */
+
+package jodelle.powermining.scheduler;
+
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.journal.EditRecord;
+import jodelle.powermining.journal.Rollback;
+import jodelle.powermining.lib.LongHashSet;
+import jodelle.powermining.lib.PackedPos;
+import jodelle.powermining.platform.Platform;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+public class RestoreJob extends BreakJob {
+    private final PowerMining plugin;
+    private final Rollback rollback;
+    private final BlockData[] palette;
+    private final int[] paletteIds;
+    // Keys of the chunks of the swing, see PackedPos.chunkKey
+    private final long[] chunkKeys;
+    // Keys of the chunks held through the ChunkTickets, null until the job is ready
+    private long[] heldChunks = null;
+    private boolean loading = false;
+
+    /**
+     * @param plugin Instance of the plugin
+     * @param ownerId Id of whoever asked for the rollback
+     * @param world World of the swing
+     * @param record Journaled swing to be undone
+     * @param rollback Rollback the swing is part of, told when the job is finished
+     */
+    public RestoreJob(@Nonnull final PowerMining plugin, @Nonnull final UUID ownerId, @Nonnull final World world,
+                      @Nonnull final EditRecord record, @Nonnull final Rollback rollback) {
+        super(ownerId, world, record.getPositions(), record.size());
+        this.plugin = plugin;
+        this.rollback = rollback;
+        this.paletteIds = record.getPaletteIds();
+
+        final List<String> blocks = record.getPalette();
+        palette = new BlockData[blocks.size()];
+        for (int i = 0; i < palette.length; i++) {
+            try {
+                palette[i] = plugin.getServer().createBlockData(blocks.get(i));
+            } catch (IllegalArgumentException e) {
+                // Written by a server version that knows blocks this one doesn't
+                plugin.getLogger().info("Unknown block " + blocks.get(i) + " in the journal, it isn't restored.");
+            }
+        }
+
+        final long[] positions = record.getPositions();
+        final LongHashSet seen = new LongHashSet(16);
+        long[] chunks = new long[16];
+        int chunkCount = 0;
+        for (int i = 0; i < record.size(); i++) {
+            final long chunkKey = PackedPos.chunkKey(positions[i]);
+            if (!seen.add(chunkKey)) {
+                continue;
+            }
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            }
+            chunks[chunkCount++] = chunkKey;
+        }
+        chunkKeys = Arrays.copyOf(chunks, chunkCount);
+    }
+
+    @Override
+    protected boolean isActive() {
+        return plugin.isEnabled();
+    }
+
+    @Override
+    protected boolean isReady() {
+        if (heldChunks != null) {
+            return true;
+        }
+        if (loading) {
+            return false;
+        }
+
+        final Platform platform = plugin.getPlatform();
+        if (platform.canLoadAsync()) {
+            loading = true;
+            platform.loadChunks(plugin, world, chunkKeys, false, () -> {
+                loading = false;
+                // Discarded while its chunks were loading
+                if (!isDone()) {
+                    holdChunks();
+                }
+            });
+            // The callback already ran if every chunk was loaded
+            return heldChunks != null;
+        }
+
+        // Only the chunks of this swing are loaded in this tick, never the ones of the whole rollback
+        for (long chunkKey : chunkKeys) {
+            world.loadChunk(PackedPos.chunkX(chunkKey), PackedPos.chunkZ(chunkKey), false);
+        }
+        holdChunks();
+        return true;
+    }
+
+    /**
+     * Keeps the loaded chunks of the swing loaded until the job is finished
+     */
+    private void holdChunks() {
+        heldChunks = plugin.getChunkTickets().acquire(world, chunkKeys);
+    }
+
+    @Override
+    protected boolean apply(@Nonnull final Block block, @Nonnull final Material blockType, final int index) {
+        final BlockData data = palette[paletteIds[index]];
+        if (data == null || !blockType.isAir()) {
+            return false;
+        }
+
+        // The neighbours were there when the block was broken, nothing around it needs to react
+        block.setBlockData(data, false);
+        plugin.getMetrics().blocksRestored.inc();
+        return true;
+    }
+
+    @Override
+    protected void finish() {
+        if (heldChunks != null) {
+            plugin.getChunkTickets().release(world, heldChunks);
+            heldChunks = null;
+        }
+        rollback.jobFinished(plugin.isEnabled());
+    }
+}
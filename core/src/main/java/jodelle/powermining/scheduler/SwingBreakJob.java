@@ -0,0 +1,161 @@
+/*
+ * BreakJob of a PowerTool swing that breaks blocks like the player would. Keeps the durability used by the
+ * broken blocks and their drops, and settles both once the job is finished.
+ */
+
+package jodelle.powermining.scheduler;
+
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.journal.EditRecord;
+import jodelle.powermining.lib.DropCollector;
+import jodelle.powermining.lib.DropMode;
+import jodelle.powermining.lib.PluginConfig;
+import jodelle.powermining.lib.PowerUtils;
+import jodelle.powermining.platform.Platform;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+
+public abstract class SwingBreakJob extends BreakJob {
+    protected final PowerMining plugin;
+    protected final Player player;
+    protected final ItemStack handItem;
+    // The whole swing uses the config it was queued with, even if the config is reloaded meanwhile
+    protected final PluginConfig config;
+    // Null when the blocks don't cost durability
+    private final DurabilityLedger.Hold durability;
+    private int durabilityUses = 0;
+    private final Platform platform;
+    private final boolean breakEffects;
+    private final DropMode dropMode;
+    private final Location dropLocation;
+    // Null when every block drops its own items
+    private final DropCollector drops;
+    private final boolean hasVoidDrops;
+    // Null when the journal is disabled
+    private final EditRecord record;
+
+    /**
+     * @param plugin Instance of the plugin
+     * @param player Player who swung the tool
+     * @param handItem Tool used
+     * @param world World of the blocks
+     * @param positions Packed positions of the blocks, see PackedPos
+     * @param size How many positions are used
+     * @param dropLocation Where merged items are dropped, usually the center of the broken block
+     * @param durability Uses of the tool held for the swing, null if the blocks don't cost durability
+     * @param record Receives the blocks before they are broken, null if the swing isn't journaled
+     */
+    protected SwingBreakJob(@Nonnull final PowerMining plugin, @Nonnull final Player player, @Nonnull final ItemStack handItem,
+                            @Nonnull final World world, @Nonnull final long[] positions, final int size,
+                            @Nonnull final Location dropLocation, @Nullable final DurabilityLedger.Hold durability,
+                            @Nullable final EditRecord record) {
+        super(player.getUniqueId(), world, positions, size);
+        this.plugin = plugin;
+        this.player = player;
+        this.record = record;
+        this.handItem = handItem;
+        this.config = plugin.getPluginConfig();
+        this.durability = durability;
+        this.platform = plugin.getPlatform();
+        this.breakEffects = config.isBreakEffects();
+        this.dropMode = config.getDropMode();
+        this.dropLocation = dropLocation;
+
+        // Items have to be collected to merge them, in NATURAL mode the void list is checked block by block
+        drops = dropMode == DropMode.NATURAL ? null : new DropCollector(config);
+        hasVoidDrops = config.hasVoidDrops();
+    }
+
+    /**
+     * Breaks the block and counts the durability it costs. Stops the job when the tool has no durability left.
+     * @param block Block to be broken
+     * @param applyPhysics False to break the block without updating its neighbours
+     */
+    protected void breakAndCount(@Nonnull final Block block, final boolean applyPhysics) {
+        plugin.getMetrics().blocksBroken.inc();
+        if (record != null) {
+            record.add(block);
+        }
+
+        //When using breakNaturally the block is broken but the durability of the tool stays the same
+        //so the uses are counted and the damage is applied once, when the job is finished
+        if (breakBlock(block, applyPhysics) && durability != null) {
+            durabilityUses++;
+
+            // The uses held for the swing are spent, the tool has no durability left for the rest of it
+            if (durabilityUses >= durability.getUses()) {
+                discard();
+            }
+        }
+    }
+
+    /**
+     * Breaks the block, either dropping its items right away or keeping them to be handed out at the end of the job
+     * @param block Block to be broken
+     * @param applyPhysics False to break the block without updating its neighbours
+     * @return True if the tool was the right one to get the block's drops, like Block.breakNaturally
+     */
+    private boolean breakBlock(@Nonnull final Block block, final boolean applyPhysics) {
+        if (drops == null && applyPhysics && !hasVoidDrops) {
+            return platform.breakNaturally(block, handItem, breakEffects);
+        }
+
+        final boolean preferredTool = block.isPreferredTool(handItem);
+        if (preferredTool) {
+            final Collection<ItemStack> blockDrops = block.getDrops(handItem, player);
+            if (drops != null) {
+                drops.add(blockDrops);
+            } else {
+                final Location location = block.getLocation();
+                for (ItemStack drop : blockDrops) {
+                    if (!config.isVoidDrop(drop.getType())) {
+                        world.dropItemNaturally(location, drop);
+                    }
+                }
+            }
+        }
+        block.setType(Material.AIR, applyPhysics);
+        return preferredTool;
+    }
+
+    @Override
+    protected boolean isActive() {
+        return player.isOnline();
+    }
+
+    @Nonnull
+    public Player getPlayer() {
+        return player;
+    }
+
+    @Override
+    protected void finish() {
+        if (durability != null) {
+            PowerUtils.reduceDurability(player, handItem, durabilityUses, durability.getSlot());
+            plugin.getDurabilityLedger().release(durability);
+        }
+
+        if (record != null) {
+            plugin.journal(record);
+        }
+
+        if (drops == null || drops.isEmpty()) {
+            return;
+        }
+
+        // If the player left in the meantime the items are left at the center block
+        if (dropMode == DropMode.INVENTORY && player.isOnline()) {
+            drops.giveTo(player, dropLocation);
+        } else {
+            drops.dropAt(dropLocation);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * BreakJob used by the Hammers in vein mining mode. Instead of a fixed area it follows the ore connected to
+ * the broken block, one block at a time, so the vein is only discovered as fast as the scheduler breaks it.
+ * The blocks waiting to be broken are the job's own positions, used as the queue of the flood fill.
+ */
+
+package jodelle.powermining.scheduler;
+
+import jodelle.powermining.PowerMining;
+import jodelle.powermining.journal.EditRecord;
+import jodelle.powermining.lib.AreaProtection;
+import jodelle.powermining.lib.ChunkLoader;
+import jodelle.powermining.lib.LongHashSet;
+import jodelle.powermining.lib.OreFamily;
+import jodelle.powermining.lib.PackedPos;
+import jodelle.powermining.lib.RuleMatrix;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+
+public class VeinBreakJob extends SwingBreakJob {
+    private final int family;
+    private final Material toolType;
+    private final RuleMatrix rules;
+    private final int maxBlocks;
+    private final int minHeight;
+    private final int maxHeight;
+    // Every block that was queued, plus the broken one
+    private final LongHashSet visited;
+    // The protection is resolved one chunk section at a time, as the vein reaches it
+    private final HashMap<Long, AreaProtection> protections = new HashMap<>();
+
+    /**
+     * @param plugin Instance of the plugin
+     * @param player Player who swung the tool
+     * @param handItem Tool used
+     * @param origin Ore broken by the player, it's broken by the event itself
+     * @param dropLocation Where merged items are dropped, usually the center of the broken block
+     * @param durability Uses of the tool held for the swing, null if the blocks don't cost durability
+     * @param record Receives the blocks before they are broken, null if the swing isn't journaled
+     */
+    public VeinBreakJob(@Nonnull final PowerMining plugin, @Nonnull final Player player, @Nonnull final ItemStack handItem,
+                        @Nonnull final Block origin, @Nonnull final Location dropLocation,
+                        @Nullable final DurabilityLedger.Hold durability, @Nullable final EditRecord record) {
+        super(plugin, player, handItem, origin.getWorld(), new long[16], 0, dropLocation, durability, record);
+        this.family = OreFamily.of(origin.getType());
+        this.toolType = handItem.getType();
+        this.rules = config.getRules();
+        this.maxBlocks = config.getVeinMaxBlocks();
+        this.minHeight = world.getMinHeight();
+        this.maxHeight = world.getMaxHeight();
+        this.visited = new LongHashSet(maxBlocks + 1);
+
+        final long pos = PackedPos.pack(origin);
+        visited.add(pos);
+        expand(pos);
+    }
+
+    @Override
+    protected boolean apply(@Nonnull final Block block, @Nonnull final Material blockType, final int index) {
+        // The block was checked when it was queued, skip it if it changed since then
+        if (!matches(blockType)) {
+            return false;
+        }
+
+        final long pos = PackedPos.pack(block);
+        plugin.getMetrics().protectionChecks.inc();
+        if (!protection(pos).canBreak(block)) {
+            plugin.getMetrics().protectionDenials.inc();
+            return false;
+        }
+
+        breakAndCount(block, true);
+        expand(pos);
+        return true;
+    }
+
+    /**
+     * Queues the neighbours of a broken block that belong to the vein, diagonals included
+     * @param pos Packed position of the broken block
+     */
+    private void expand(final long pos) {
+        final int x = PackedPos.x(pos);
+        final int y = PackedPos.y(pos);
+        final int z = PackedPos.z(pos);
+
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    // The origin is in the visited set too, so it doesn't count towards the cap
+                    if (visited.size() > maxBlocks) {
+                        return;
+                    }
+
+                    final int ny = y + dy;
+                    if ((dx | dy | dz) == 0 || ny < minHeight || ny >= maxHeight) {
+                        continue;
+                    }
+
+                    final long neighbour = PackedPos.pack(x + dx, ny, z + dz);
+                    if (visited.contains(neighbour)) {
+                        continue;
+                    }
+
+                    // The vein stops at the unloaded chunks, they are never loaded for it
+                    if (!ChunkLoader.isLoaded(world, neighbour)) {
+                        plugin.getMetrics().unloadedBlocks.inc();
+                        continue;
+                    }
+
+                    plugin.getMetrics().blocksEvaluated.inc();
+                    if (matches(world.getType(x + dx, ny, z + dz))) {
+                        visited.add(neighbour);
+                        enqueue(neighbour);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    protected int growth() {
+        // The origin is in the visited set but was never queued
+        return maxBlocks + 1 - visited.size();
+    }
+
+    private boolean matches(@Nonnull final Material blockType) {
+        return OreFamily.of(blockType) == family && rules.canMine(toolType, blockType);
+    }
+
+    @Nonnull
+    private AreaProtection protection(final long pos) {
+        final long section = PackedPos.section(pos);
+
+        AreaProtection protection = protections.get(section);
+        if (protection == null) {
+            protection = plugin.getProtectionCache().get(player, world, section);
+            protections.put(section, protection);
+        }
+        return protection;
+    }
+}
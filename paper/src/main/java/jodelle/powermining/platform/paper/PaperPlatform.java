@@ -0,0 +1,62 @@
+/*
+ * Platform of the Paper servers. Chunks are loaded off the main thread, players' swings ahead of the other loads,
+ * and blocks can be broken with their particles and sound.
+ */
+
+package jodelle.powermining.platform.paper;
+
+import jodelle.powermining.lib.PackedPos;
+import jodelle.powermining.platform.Platform;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class PaperPlatform implements Platform {
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "Paper";
+    }
+
+    @Override
+    public boolean canLoadAsync() {
+        return true;
+    }
+
+    @Override
+    public void loadChunks(@Nonnull final Plugin plugin, @Nonnull final World world, @Nonnull final long[] chunkKeys,
+                           final boolean urgent, @Nonnull final Runnable callback) {
+        if (chunkKeys.length == 0) {
+            callback.run();
+            return;
+        }
+
+        final AtomicInteger pending = new AtomicInteger(chunkKeys.length);
+        final Runnable done = () -> {
+            if (pending.decrementAndGet() != 0) {
+                return;
+            }
+            // A disabled plugin can't run tasks anymore, the callback then only runs if it's already on the main thread
+            if (plugin.getServer().isPrimaryThread()) {
+                callback.run();
+            } else if (plugin.isEnabled()) {
+                plugin.getServer().getScheduler().runTask(plugin, callback);
+            }
+        };
+
+        for (long chunkKey : chunkKeys) {
+            world.getChunkAtAsync(PackedPos.chunkX(chunkKey), PackedPos.chunkZ(chunkKey), false, urgent)
+                    .whenComplete((chunk, error) -> done.run());
+        }
+    }
+
+    @Override
+    public boolean breakNaturally(@Nonnull final Block block, @Nonnull final ItemStack tool, final boolean effects) {
+        return block.breakNaturally(tool, effects);
+    }
+}